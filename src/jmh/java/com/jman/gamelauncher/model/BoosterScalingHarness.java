@@ -0,0 +1,241 @@
+package com.jman.gamelauncher.model;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.jman.gamelauncher.support.ActiveBoosterSnapshot;
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.FreeCellSet;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+import com.jman.gamelauncher.support.LatencyHistogram;
+
+/**
+ * Measures how the {@link BoosterPool} and the booster runtimes scale with the number of boosters.
+ *
+ * <p>For every {@link BoosterRuntime} and every booster count from 1 to 10,000, synthetic boosters
+ * are registered in the pool and cycled as fast as possible for a while: spawner threads keep
+ * calling {@link BoosterPool#spawnBooster()}, which skips when no booster is idle, and consumer threads
+ * keep consuming the boosters they
+ * find in the pool's snapshot. The boosters have no cool down, so everything measured is overhead of
+ * the pool and the runtime. Each run reports:</p>
+ * <ul>
+ *   <li>spawn-to-active latency: from activating a booster until the pool has indexed it.</li>
+ *   <li>consume-to-return latency: from consuming a booster until it's back in the pool.</li>
+ *   <li>throughput: full booster cycles per second.</li>
+ *   <li>threads: the peak number of live platform threads, virtual threads aren't counted by the JVM.</li>
+ *   <li>skipped spawns: spawns that found no idle booster.</li>
+ *   <li>contention: the times a spawner lost the race for an idle booster to another spawner.</li>
+ * </ul>
+ *
+ * <p>Run it from the benchmark JAR, optionally with the seconds per run:
+ * {@code java -cp target/game-launcher-1.0-SNAPSHOT-benchmarks.jar
+ * com.jman.gamelauncher.model.BoosterScalingHarness 2}</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class BoosterScalingHarness {
+    private static final int[] BOOSTER_COUNTS = {1, 10, 100, 1_000, 10_000};
+    private static final int SPAWNER_THREADS = 4;
+    private static final int CONSUMER_THREADS = 2;
+    private static final int DEFAULT_RUN_SECONDS = 2;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final LatencyHistogram spawnToActive = new LatencyHistogram("Spawn to active");
+    private final LatencyHistogram consumeToReturn = new LatencyHistogram("Consume to return");
+    private volatile boolean running;
+
+    // Prevent instantiation from outside, the harness is run through main.
+    private BoosterScalingHarness() { }
+
+    /**
+     * A booster without effect or sound that records the timestamps of its lifecycle.
+     * The pool's callbacks are wrapped, so the latencies include all the work the pool does.
+     */
+    private final class ProbeBooster extends BoosterModel {
+        private volatile long activateNanos;
+        private volatile long consumeNanos;
+
+        private ProbeBooster() { super("ProbeBooster"); }
+
+        @Override
+        public void setActivatedBoosterMethod(final Consumer<BoosterModel> activatedBooster) {
+            super.setActivatedBoosterMethod(booster -> {
+                activatedBooster.accept(booster);
+                spawnToActive.record(System.nanoTime() - activateNanos);
+            });
+        }
+
+        @Override
+        public void setReturnBoosterMethod(final Consumer<BoosterModel> returnBooster) {
+            super.setReturnBoosterMethod(booster -> {
+                returnBooster.accept(booster);
+                final long start = consumeNanos;
+                if (start != 0) {
+                    consumeToReturn.record(System.nanoTime() - start);
+                    consumeNanos = 0;
+                }
+            });
+        }
+
+        @Override
+        public void activate(final int newCell) {
+            activateNanos = System.nanoTime();
+            super.activate(newCell);
+        }
+
+        @Override
+        public void consume(final boolean isPause) {
+            if (!isPause) { consumeNanos = System.nanoTime(); }
+            super.consume(isPause);
+        }
+
+        @Override
+        long spawnCoolDown() { return 0; }
+
+        @Override
+        void loadSoundEffect() { }
+
+        @Override
+        void applyEffect() { }
+
+        @Override
+        void playSoundEffect() { }
+
+        @Override
+        public Color getBoosterColor() { return AppConfigSnake.COLOR_CHERRY_BOOSTER; }
+    }
+
+    /**
+     * Runs every booster count on every runtime and prints one line per run.
+     * @param args optionally the number of seconds per run.
+     * @throws InterruptedException if interrupted while waiting for a run.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final int runSeconds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUN_SECONDS;
+        final BoosterScalingHarness harness = new BoosterScalingHarness();
+
+        System.out.printf(
+            "%-15s %8s %12s %12s %12s %12s %12s %9s %12s %11s%n",
+            "Runtime", "Boosters", "Cycles/s", "Spawn p50", "Spawn p99", "Return p50", "Return p99",
+            "Platform", "Skipped", "Contention"
+        );
+
+        for (final BoosterRuntime runtime : BoosterRuntime.values()) {
+            for (final int count : BOOSTER_COUNTS) {
+                harness.run(runtime, count, runSeconds);
+            }
+        }
+    }
+
+    /**
+     * Cycles the boosters for a while and prints the measurements.
+     * @param runtime the runtime driving the boosters.
+     * @param count the number of boosters.
+     * @param runSeconds how long to cycle the boosters.
+     * @throws InterruptedException if interrupted while waiting for the run.
+     */
+    private void run(final BoosterRuntime runtime, final int count, final int runSeconds)
+        throws InterruptedException {
+        final BoosterPool pool = BoosterPool.INSTANCE;
+        // Leave at least half of the grid free so spawning never runs out of cells.
+        final int gridSize = Math.max(AppConfigSnake.CELL_COUNT, (int) Math.ceil(Math.sqrt(count * 2.0)));
+        final List<BoosterModel> boosters = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            boosters.add(new ProbeBooster());
+        }
+
+        spawnToActive.reset();
+        consumeToReturn.reset();
+        final HashedWheelTimer timer = new HashedWheelTimer(
+            "Harness-Timer", AppConfigSnake.SESSION_TIMER_TICK_MILLIS, AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        pool.initialize(boosters, new FreeCellSet(gridSize * gridSize), runtime, timer);
+
+        final long skippedBefore = pool.getSkippedSpawns();
+        final long contentionBefore = pool.getAcquireContention();
+        threadBean.resetPeakThreadCount();
+        running = true;
+        pool.setPaused(false);
+
+        final List<Thread> spawners = startThreads("Spawner", SPAWNER_THREADS, () -> {
+            while (running) {
+                if (!pool.spawnBooster()) { Thread.onSpinWait(); }
+            }
+        });
+        final List<Thread> consumers = startThreads("Consumer", CONSUMER_THREADS, () -> {
+            while (running) {
+                final ActiveBoosterSnapshot active = pool.getActiveBoosterData();
+                for (int i = 0; i < active.size(); i++) {
+                    final BoosterModel booster = pool.getActiveBoosterAt(active.cellAt(i));
+                    if (booster != null) { booster.consume(false); }
+                }
+                Thread.onSpinWait();
+            }
+        });
+
+        final long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(runSeconds);
+        running = false;
+        join(consumers);
+        final long elapsed = System.nanoTime() - start;
+        join(spawners);
+        pool.setPaused(true);
+
+        final long skipped = pool.getSkippedSpawns() - skippedBefore;
+        final long contention = pool.getAcquireContention() - contentionBefore;
+        final int peakThreads = threadBean.getPeakThreadCount();
+        pool.shutdown();
+        timer.shutdown();
+
+        System.out.printf(
+            "%-15s %8d %12.0f %12s %12s %12s %12s %9d %12d %11d%n",
+            runtime, count, consumeToReturn.getCount() / (elapsed / 1e9),
+            millis(spawnToActive.getPercentile(50)), millis(spawnToActive.getPercentile(99)),
+            millis(consumeToReturn.getPercentile(50)), millis(consumeToReturn.getPercentile(99)),
+            peakThreads, skipped, contention
+        );
+    }
+
+    /**
+     * Starts a number of platform threads running the same task.
+     * @param name the name prefix of the threads.
+     * @param count the number of threads.
+     * @param task the task to run.
+     * @return the started threads.
+     */
+    private static List<Thread> startThreads(final String name, final int count, final Runnable task) {
+        final List<Thread> threads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            threads.add(Thread.ofPlatform().name(name + "-" + i).start(task));
+        }
+        return threads;
+    }
+
+    /**
+     * Waits for threads to finish.
+     * @param threads the threads to wait for.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void join(final List<Thread> threads) throws InterruptedException {
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Formats a latency in milliseconds.
+     * @param nanos the latency in nanoseconds.
+     * @return the formatted latency.
+     */
+    private static String millis(final long nanos) {
+        return String.format("%.3f ms", nanos / NANOS_PER_MILLI);
+    }
+}
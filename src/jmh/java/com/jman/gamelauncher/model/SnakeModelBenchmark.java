@@ -0,0 +1,99 @@
+package com.jman.gamelauncher.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+
+/**
+ * Benchmarks the per-tick work of the {@link SnakeModel}.
+ *
+ * <p>{@link #updateSnakeData()} is one tick: applying a queued turn, moving the snake, checking for
+ * collisions with itself and the boosters and recording the tick delta. {@link #getSnake(Blackhole)}
+ * reads every body part through the snake, the way a full redraw of the view does.</p>
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeModelBenchmark {
+    @Param({"30", "60", "120"})
+    private int gridSize;
+
+    @Param({"4", "64", "256"})
+    private int snakeLength;
+
+    @Param({"0", "16", "256"})
+    private int boosterCount;
+
+    private HashedWheelTimer timer;
+    private SnakeModel model;
+    private SnakePilot pilot;
+
+    /**
+     * Starts a game with a snake of the benchmarked length and spawns the boosters.
+     * @throws InterruptedException if interrupted while spawning the boosters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        timer = new HashedWheelTimer(
+            "Benchmark-Timer", AppConfigSnake.SESSION_TIMER_TICK_MILLIS, AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        model = new SnakeModel(gridSize, timer);
+        pilot = new SnakePilot(model, gridSize);
+        ParkedBooster.spawn(model, timer, boosterCount, new Random(gridSize));
+        pilot.growTo(snakeLength);
+    }
+
+    /**
+     * Removes the boosters and stops the session timer.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BoosterPool.INSTANCE.shutdown();
+        timer.shutdown();
+    }
+
+    /**
+     * Moves the snake one tick.
+     * @return the new head, so the tick can't be optimized away.
+     */
+    @Benchmark
+    public int updateSnakeData() {
+        pilot.step();
+        return model.getTickDelta().getHead();
+    }
+
+    /**
+     * Reads the whole snake.
+     * @param blackhole consumes every cell.
+     */
+    @Benchmark
+    public void getSnake(final Blackhole blackhole) {
+        final SnakeBody snake = model.getSnake();
+        for (int i = 0; i < snake.size(); i++) {
+            blackhole.consume(snake.cellAt(i));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.jman.gamelauncher.model;
+
+/**
+ * Steers a snake for benchmarks, so it can move for as long as the benchmark runs without
+ * running into itself.
+ *
+ * <p>The snake sweeps the grid row by row: at the edge of a row it turns down for one cell and then
+ * runs back along the next row. On a grid with an even number of rows, and thanks to the
+ * wraparound from the bottom row to the top, this path visits every cell once before it repeats,
+ * so a snake shorter than half the grid never reaches its own tail.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakePilot {
+    private static final Runnable NO_VIEW = () -> { };
+    private final SnakeModel model;
+    private final int gridSize;
+    private Direction direction = Direction.RIGHT;
+    private Direction nextRow = Direction.LEFT;
+
+    /**
+     * Starts a new game on the model.
+     * @param model the model to steer.
+     * @param gridSize the number of cells on each side of the model's grid, an even number.
+     * @throws IllegalArgumentException if the grid has an odd number of rows.
+     */
+    public SnakePilot(final SnakeModel model, final int gridSize) {
+        if (gridSize % 2 != 0) {
+            throw new IllegalArgumentException("The snake can't move forever on a grid of size " + gridSize);
+        }
+
+        this.model = model;
+        this.gridSize = gridSize;
+        model.initializeSnakeData(NO_VIEW);
+    }
+
+    /**
+     * Grows the snake by moving it until it has the given length. The boosters must already be
+     * spawned, since the model looks them up in the {@link com.jman.gamelauncher.support.BoosterPool},
+     * which is sized to the grid when it's initialized.
+     * @param length the length of the snake, at most half the cells of the grid.
+     * @throws IllegalArgumentException if the snake would run into itself.
+     */
+    public void growTo(final int length) {
+        if (length > gridSize * gridSize / 2) {
+            throw new IllegalArgumentException(
+                "A snake of length " + length + " can't move forever on a grid of size " + gridSize
+            );
+        }
+
+        while (model.getSnake().size() < length) {
+            model.setGrow(true);
+            step();
+        }
+    }
+
+    /**
+     * Turns the snake if it's at the edge of a row and moves it one cell, just like a tick.
+     */
+    public void step() {
+        final SnakeBody snake = model.getSnake();
+        final int x = snake.cellX(snake.head());
+
+        if (direction == Direction.DOWN) {
+            turn(nextRow);
+            nextRow = nextRow == Direction.LEFT ? Direction.RIGHT : Direction.LEFT;
+        } else if (direction == Direction.RIGHT && x == gridSize - 1 || direction == Direction.LEFT && x == 0) {
+            turn(Direction.DOWN);
+        }
+
+        model.updateSnakeData(System.nanoTime(), NO_VIEW);
+    }
+
+    /**
+     * Queues a turn, the same way a key press does.
+     * @param newDirection the direction to turn to.
+     */
+    private void turn(final Direction newDirection) {
+        direction = newDirection;
+        model.setDirection(newDirection, System.nanoTime());
+    }
+}
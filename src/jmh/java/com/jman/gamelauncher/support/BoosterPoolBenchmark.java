@@ -0,0 +1,111 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jman.gamelauncher.model.BoosterModel;
+import com.jman.gamelauncher.model.ParkedBooster;
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakePilot;
+
+/**
+ * Benchmarks the reads of the {@link BoosterPool} that happen on every tick and every frame.
+ *
+ * <p>{@link #getActiveBoosterAt()} is the collision lookup the model does for the snake's new head,
+ * which replaced scanning a list of the active boosters. It probes random cells, so both hits and
+ * misses are measured. {@link #getActiveBoosterData(Blackhole)} reads the snapshot the view draws
+ * the boosters from.</p>
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoosterPoolBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"30", "60", "120"})
+    private int gridSize;
+
+    @Param({"4", "64", "256"})
+    private int snakeLength;
+
+    @Param({"0", "16", "256"})
+    private int boosterCount;
+
+    private HashedWheelTimer timer;
+    private SnakeModel model;
+    private final int[] probedCells = new int[PROBES];
+    private int probe;
+
+    /**
+     * Starts a game with a snake of the benchmarked length, spawns the boosters and picks the cells to probe.
+     * @throws InterruptedException if interrupted while spawning the boosters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        final Random randomizer = new Random(gridSize);
+
+        timer = new HashedWheelTimer(
+            "Benchmark-Timer", AppConfigSnake.SESSION_TIMER_TICK_MILLIS, AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        model = new SnakeModel(gridSize, timer);
+        final SnakePilot pilot = new SnakePilot(model, gridSize);
+        ParkedBooster.spawn(model, timer, boosterCount, randomizer);
+        pilot.growTo(snakeLength);
+
+        for (int i = 0; i < PROBES; i++) {
+            probedCells[i] = randomizer.nextInt(gridSize * gridSize);
+        }
+    }
+
+    /**
+     * Removes the boosters and stops the session timer.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BoosterPool.INSTANCE.shutdown();
+        timer.shutdown();
+    }
+
+    /**
+     * Looks up the booster on the next probed cell.
+     * @return the booster on the cell, or {@code null}.
+     */
+    @Benchmark
+    public BoosterModel getActiveBoosterAt() {
+        probe = (probe + 1) & (PROBES - 1);
+        return BoosterPool.INSTANCE.getActiveBoosterAt(probedCells[probe]);
+    }
+
+    /**
+     * Reads the cells and colors of all active boosters.
+     * @param blackhole consumes every cell and color.
+     */
+    @Benchmark
+    public void getActiveBoosterData(final Blackhole blackhole) {
+        final ActiveBoosterSnapshot boosters = BoosterPool.INSTANCE.getActiveBoosterData();
+        for (int i = 0; i < boosters.size(); i++) {
+            blackhole.consume(boosters.cellAt(i));
+            blackhole.consume(boosters.colorAt(i));
+        }
+    }
+}
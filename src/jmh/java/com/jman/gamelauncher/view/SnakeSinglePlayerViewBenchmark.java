@@ -0,0 +1,109 @@
+package com.jman.gamelauncher.view;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jman.gamelauncher.model.ParkedBooster;
+import com.jman.gamelauncher.model.SnakeModel;
+import com.jman.gamelauncher.model.SnakePilot;
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+
+/**
+ * Benchmarks how the {@link SnakeSinglePlayerView} brings its grid up to date, without a display.
+ *
+ * <p>{@link #updateGameGrid()} moves the snake one tick and applies its delta, which is what happens
+ * on every tick. The snake has to move, or the view would only find cells that already have their
+ * colors. The tick is the same one {@code SnakeModelBenchmark.updateSnakeData} measures with the same
+ * parameters, so the view's share is the difference between the two. {@link #redrawGameGrid()} draws the whole snake and all boosters, which happens on a restart or
+ * when the view has missed ticks. The view never becomes visible, so no painting is measured,
+ * only the work of updating the grid's cells and board.</p>
+ *
+ * @author Joel Lansgren
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SnakeSinglePlayerViewBenchmark {
+    @Param({"30", "60", "120"})
+    private int gridSize;
+
+    @Param({"4", "64", "256"})
+    private int snakeLength;
+
+    @Param({"0", "16", "256"})
+    private int boosterCount;
+
+    private HashedWheelTimer timer;
+    private SnakeModel model;
+    private SnakePilot pilot;
+    private SnakeSinglePlayerView view;
+
+    /**
+     * Starts a game with a snake of the benchmarked length, spawns the boosters and draws the grid.
+     * @throws InterruptedException if interrupted while spawning the boosters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        timer = new HashedWheelTimer(
+            "Benchmark-Timer", AppConfigSnake.SESSION_TIMER_TICK_MILLIS, AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        model = new SnakeModel(gridSize, timer);
+        pilot = new SnakePilot(model, gridSize);
+        ParkedBooster.spawn(model, timer, boosterCount, new Random(gridSize));
+        pilot.growTo(snakeLength);
+
+        view = new SnakeSinglePlayerView(gridSize);
+        view.redrawGameGrid(model.getSnake(), BoosterPool.INSTANCE.getActiveBoosterData());
+    }
+
+    /**
+     * Removes the boosters and stops the session timer.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BoosterPool.INSTANCE.shutdown();
+        timer.shutdown();
+    }
+
+    /**
+     * Moves the snake one tick and applies its delta to the grid.
+     */
+    @Benchmark
+    public void updateGameGrid() {
+        pilot.step();
+        view.updateGameGrid(
+            model.getTickDelta(),
+            model.getSnake(),
+            BoosterPool.INSTANCE.getActiveBoosterData(),
+            System.nanoTime(),
+            TimeUnit.MILLISECONDS.toNanos(model.getSpeed())
+        );
+    }
+
+    /**
+     * Redraws the whole grid.
+     */
+    @Benchmark
+    public void redrawGameGrid() {
+        view.redrawGameGrid(model.getSnake(), BoosterPool.INSTANCE.getActiveBoosterData());
+    }
+}
@@ -2,7 +2,8 @@ package com.jman.gamelauncher.controller;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
 
 import com.jman.gamelauncher.model.Direction;
 
@@ -13,17 +14,22 @@ import com.jman.gamelauncher.model.Direction;
  * <p>It updates the direction based on key presses for movement
  * in all four cardinal directions.</p>
  *
+ * <p>Together with the direction it passes on when the key was pressed, on the
+ * {@link System#nanoTime()} clock, so the latency until it shows on screen can be measured.
+ * The event's own timestamp is used, which also covers the time it waited in the event queue.</p>
+ *
  * @author Joel Lansgren
  */
 public class CardinalDirectionListener extends KeyAdapter {
-    private final Consumer<Direction> setDirection;
+    private final ObjLongConsumer<Direction> setDirection;
 
     /**
      * Constructs a MovementListener for games.
      *
-     * @param setDirection The callback to the method in the model that sets the direction.
+     * @param setDirection The callback to the method in the model that sets the direction,
+     * which also receives the time of the key event.
      */
-    public CardinalDirectionListener(final Consumer<Direction> setDirection) {
+    public CardinalDirectionListener(final ObjLongConsumer<Direction> setDirection) {
         this.setDirection = setDirection;
     }
 
@@ -35,15 +41,19 @@ public class CardinalDirectionListener extends KeyAdapter {
      */
     @Override
     public void keyPressed(final KeyEvent e) {
+        // Translates the event's wall clock timestamp to the monotonic clock.
+        final long keyNanos = System.nanoTime()
+            - TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - e.getWhen()));
+
         switch (e.getKeyCode()) {
-            case KeyEvent.VK_W -> setDirection.accept(Direction.UP);
-            case KeyEvent.VK_S -> setDirection.accept(Direction.DOWN);
-            case KeyEvent.VK_A -> setDirection.accept(Direction.LEFT);
-            case KeyEvent.VK_D -> setDirection.accept(Direction.RIGHT);
-            case KeyEvent.VK_UP -> setDirection.accept(Direction.UP);
-            case KeyEvent.VK_DOWN -> setDirection.accept(Direction.DOWN);
-            case KeyEvent.VK_LEFT -> setDirection.accept(Direction.LEFT);
-            case KeyEvent.VK_RIGHT -> setDirection.accept(Direction.RIGHT);
+            case KeyEvent.VK_W -> setDirection.accept(Direction.UP, keyNanos);
+            case KeyEvent.VK_S -> setDirection.accept(Direction.DOWN, keyNanos);
+            case KeyEvent.VK_A -> setDirection.accept(Direction.LEFT, keyNanos);
+            case KeyEvent.VK_D -> setDirection.accept(Direction.RIGHT, keyNanos);
+            case KeyEvent.VK_UP -> setDirection.accept(Direction.UP, keyNanos);
+            case KeyEvent.VK_DOWN -> setDirection.accept(Direction.DOWN, keyNanos);
+            case KeyEvent.VK_LEFT -> setDirection.accept(Direction.LEFT, keyNanos);
+            case KeyEvent.VK_RIGHT -> setDirection.accept(Direction.RIGHT, keyNanos);
         }
     }
 }
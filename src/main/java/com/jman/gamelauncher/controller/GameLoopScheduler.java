@@ -0,0 +1,135 @@
+package com.jman.gamelauncher.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import com.jman.gamelauncher.support.LatencyHistogram;
+
+/**
+ * A dedicated thread that runs a game's ticks at precise, drift-free intervals.
+ *
+ * <p>Unlike {@code javax.swing.Timer}, which runs on the EDT and coalesces or delays its events when
+ * the EDT is busy, this scheduler keeps an absolute {@link System#nanoTime()} deadline per tick.
+ * The next deadline is always the previous one plus the period, so the time spent in a tick, or a
+ * late wake up, doesn't accumulate into drift. The period is read again after every tick, so speed
+ * changes take effect at the next tick boundary instead of resetting the current period.</p>
+ *
+ * <p>The thread parks until shortly before the deadline and spins the last stretch, since parking
+ * alone is only accurate to the OS timer slack. How late every tick fired is recorded in a
+ * {@link LatencyHistogram}. If the loop falls more than a whole period behind, e.g. after the
+ * process was suspended, it re-anchors at the current time rather than firing a burst of ticks.</p>
+ *
+ * @author Joel Lansgren
+ */
+final class GameLoopScheduler implements Runnable {
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+    private final String name;
+    private final BooleanSupplier tick;
+    private final LongSupplier periodNanos;
+    private final LatencyHistogram tickJitter;
+    private volatile boolean running;
+    private Thread tickThread;
+
+    /**
+     * Constructs a scheduler for a tick.
+     * @param name the name of the tick thread.
+     * @param tick runs one tick and returns {@code false} when the loop should stop.
+     * @param periodNanos supplies the time between ticks, read at every tick boundary.
+     */
+    GameLoopScheduler(final String name, final BooleanSupplier tick, final LongSupplier periodNanos) {
+        this.name = name;
+        this.tick = tick;
+        this.periodNanos = periodNanos;
+        tickJitter = new LatencyHistogram(name + " tick jitter");
+    }
+
+    /*==============================
+    * Lifecycle
+    ==============================*/
+
+    /** Starts the tick thread if it isn't running already. The first tick fires one period from now. */
+    void start() {
+        if (running) { return; }
+
+        running = true;
+        tickJitter.reset();
+        tickThread = new Thread(this, name);
+        tickThread.setDaemon(true);
+        tickThread.start();
+    }
+
+    /**
+     * Stops the tick thread and waits for the tick in progress to finish.
+     * Must not be called from a tick itself.
+     */
+    void stop() {
+        running = false;
+
+        if (tickThread != null) {
+            LockSupport.unpark(tickThread);
+            try {
+                tickThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            tickThread = null;
+        }
+    }
+
+    /**
+     * Waits for each deadline, runs the tick and schedules the next deadline from the previous one.
+     */
+    @Override
+    public void run() {
+        long deadline = System.nanoTime() + periodNanos.getAsLong();
+
+        while (running) {
+            awaitDeadline(deadline);
+            if (!running) { break; }
+
+            final long now = System.nanoTime();
+            tickJitter.record(now - deadline);
+
+            if (!tick.getAsBoolean()) {
+                running = false;
+                break;
+            }
+
+            final long period = periodNanos.getAsLong();
+            deadline += period;
+            if (System.nanoTime() - deadline > period) {
+                deadline = System.nanoTime(); // Too far behind, re-anchor instead of bursting.
+            }
+        }
+    }
+
+    /**
+     * Parks until just before the deadline and spins the rest of the way.
+     * @param deadline the absolute deadline from {@link System#nanoTime()}.
+     */
+    private void awaitDeadline(final long deadline) {
+        long remaining;
+
+        while (running && (remaining = deadline - System.nanoTime()) > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NANOS);
+        }
+
+        while (running && deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the histogram of how late the ticks fired compared to their deadlines.
+     * @return the tick jitter histogram.
+     */
+    LatencyHistogram getTickJitter() {
+        return tickJitter;
+    }
+}
@@ -18,19 +18,16 @@ interface IGameController {
     /**
      * Initializes the game view and sets up the necessary components for the game.
      * This method delivers the {@code closeGameClickListener} to the {@code initializeListeners} method and
-     * displays the game view in the launcher when it is set up. It should also signal that all sounds have
-     * been loaded (if used) before displaying the game. The implementation of this method will
+     * displays the game view in the launcher when it is set up. Sounds (if used) are loaded in the background,
+     * so it shouldn't wait for them before displaying the game. The implementation of this method will
      * vary depending on the specific game.
      * @param closeGameClickListener A callback that is invoked when the quit button is clicked in the game view,
      * ensuring proper shutdown and cleanup. Should be forwarded to the {@link #initializeListeners(Runnable)} method.
-     * @param soundEffectsLoaded A string signaling to the {@link com.jman.gamelauncher.support.AudioManager} that all
-     * sounds have been loaded (ignore it if sounds aren't a thing).
      * @param displayGameInLauncher A callback that is executed once the game view is created and set up to display it
      * in the launcher view. It takes the main view panel or start panel of the current game as its argument.
      */
     void initialize(
         final Runnable closeGameClickListener,
-        final String soundEffectsLoaded,
         final Consumer<JPanel> displayGameInLauncher
     );
 
@@ -9,7 +9,9 @@ import javax.swing.SwingUtilities;
 import com.jman.gamelauncher.model.LauncherModel;
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigLauncher;
+import com.jman.gamelauncher.support.AssetPreloader;
 import com.jman.gamelauncher.support.AudioManager;
+import com.jman.gamelauncher.support.DebugLogger;
 import com.jman.gamelauncher.support.TimedEventQueue;
 import com.jman.gamelauncher.view.LauncherAboutView;
 import com.jman.gamelauncher.view.LauncherComingSoonView;
@@ -56,8 +58,14 @@ public class LauncherController {
      * <p>It does so by adding game buttons to the launcherSideView, setting up the launcherMainView
      * views in its card layout and initializing listeners.
      * It also displays the launcher and may include debugging logic if enabled.</p>
+     *
+     * <p>Before anything else it starts the {@link AssetPreloader}, so the sounds of all games are
+     * decoded in parallel while the frame is being built.</p>
      */
     public void initialize() {
+        // Decodes the sounds in the background while the frame is being built.
+        AssetPreloader.INSTANCE.start(this::logPreloadProgress);
+
         if (AppConfigLauncher.DEBUG_MODE) {
             Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedEventQueue());
         }
@@ -68,8 +76,18 @@ public class LauncherController {
             initializeListeners();
             launcherFrame.showFrame();
         });
+    }
 
-        AudioManager.INSTANCE.keepAudioAlive();
+    /**
+     * Logs the progress of the asset preloader when debugging.
+     * @param asset the asset that was preloaded.
+     * @param loaded the number of assets preloaded so far.
+     * @param total the total number of assets to preload.
+     */
+    private void logPreloadProgress(final String asset, final int loaded, final int total) {
+        if (AppConfigLauncher.DEBUG_MODE) {
+            DebugLogger.INSTANCE.logInfo("Preloaded " + asset + " (" + loaded + "/" + total + ")");
+        }
     }
 
     /**
@@ -170,7 +188,6 @@ public class LauncherController {
 
         gameControllerFactory.get().initialize(
             closeGameClickListener,
-            AppConfig.SOUND_EFFECTS_LOADED,
             mainView::ShowSelectedGame
         );
     }
@@ -1,19 +1,25 @@
 package com.jman.gamelauncher.controller;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import javax.swing.JPanel;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 
 import com.jman.gamelauncher.model.Direction;
 import com.jman.gamelauncher.model.SnakeCherryBoosterModel;
+import com.jman.gamelauncher.model.SnakeEngine;
 import com.jman.gamelauncher.model.SnakeModel;
 import com.jman.gamelauncher.model.SnakeSpeedBoosterModel;
-import com.jman.gamelauncher.support.AppConfig;
+import com.jman.gamelauncher.support.AppConfigLauncher;
 import com.jman.gamelauncher.support.AppConfigSnake;
 import com.jman.gamelauncher.support.AudioManager;
 import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.DebugLogger;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+import com.jman.gamelauncher.support.LatencyHistogram;
 import com.jman.gamelauncher.view.SnakeHowToView;
 import com.jman.gamelauncher.view.SnakeSinglePlayerView;
 import com.jman.gamelauncher.view.SnakeStartMenuView;
@@ -37,31 +43,58 @@ import com.jman.gamelauncher.view.SnakeView;
  * @author Joel Lansgren
  */
 class SnakeController implements IGameController {
+    private static final long NO_GAME_START = -1;
+    private static final long NOT_RENDERED = -1; // No tick has been rendered since the last start.
+
     // MVC components
     private final SnakeView snakeView;
     private final SnakeStartMenuView startMenuView;
     private final SnakeSinglePlayerView singlePlayerView;
     private final SnakeHowToView howToView;
     private final SnakeModel snakeModel;
+    private final SnakeEngine snakeEngine;
+
+    // Timed game mechanics
+    private final HashedWheelTimer sessionTimer;
 
     // Game loop variables
-    private Timer gameLoop;
-    private boolean gameOn;
+    private final GameLoopScheduler gameLoop;
+    private final Object tickLock = new Object();
+    private final AtomicBoolean renderPending = new AtomicBoolean();
+    private volatile boolean gameOn;
+    private volatile boolean closed;
+    private long renderedTick = NOT_RENDERED;
+
+    // Time to first frame
+    private final LatencyHistogram timeToFirstFrame = new LatencyHistogram("Time to first frame");
+    private final AtomicLong awaitingFirstFrame = new AtomicLong(NO_GAME_START);
+    private long gameStartNanos = NO_GAME_START;
 
     /**
      * Constructs a SnakeController with the specified views, models and BoosterController.
      * It also initialize the BoosterPool with the list of boosters used in the game.
+     * All timed game mechanics share one session timer, which is paused until a round starts.
      */
     public SnakeController() {
         snakeView = new SnakeView();
         startMenuView = new SnakeStartMenuView();
         singlePlayerView = new SnakeSinglePlayerView();
         howToView = new SnakeHowToView();
-        snakeModel = new SnakeModel(this::updateTimerDelay);
+        sessionTimer = new HashedWheelTimer(
+            "SnakeSession-Timer",
+            AppConfigSnake.SESSION_TIMER_TICK_MILLIS,
+            AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        sessionTimer.pause();
+        snakeModel = new SnakeModel(sessionTimer);
+        snakeEngine = new SnakeEngine(snakeModel);
+        snakeEngine.setTickListener(this::requestGameGridUpdate);
+        singlePlayerView.setFrameListener(this::onFramePresented);
+        gameLoop = new GameLoopScheduler("SnakeTick-Scheduler", this::runTick, snakeEngine::getTimestepNanos);
         BoosterPool.INSTANCE.initialize(List.of(
             new SnakeCherryBoosterModel(snakeModel),
             new SnakeSpeedBoosterModel(snakeModel)
-        ));
+        ), snakeModel.getFreeCells(), AppConfigSnake.BOOSTER_RUNTIME, sessionTimer);
     }
 
     /*==========================
@@ -72,22 +105,19 @@ class SnakeController implements IGameController {
      * {@inheritDoc}
      *
      * <p> In the {@link SnakeController}, this method initializes the game by
-     * setting views for the card layout, initializing the game grid in the
-     * view for the snake game, creating the game loop and initiating the game environment. </p>
+     * setting views for the card layout, registering listeners
+     * and initiating the game environment. </p>
      */
     @Override
     public void initialize(
         final Runnable closeGameClickListener,
-        final String soundEffectsLoaded,
         final Consumer<JPanel> displayGameInLauncher
     ) {
         // Sets the views for card layout
         snakeView.setViews(startMenuView.getMainPanel(), singlePlayerView.getMainPanel(), howToView.getMainPanel());
-        singlePlayerView.initializeGridCell(); // Initializes the cells for the snakeGrid
         initializeListeners(closeGameClickListener); // Registers listeners
         displayGameInLauncher.accept(snakeView.getMainPanel()); // Displays the Snake main view in the launcher
 
-        createGameLoop();
         initiateGameState();
     }
 
@@ -120,85 +150,171 @@ class SnakeController implements IGameController {
     }
 
     /**
-     * Sets the current direction of the snake in the model.
+     * Queues a direction change for the snake in the model.
      * @param direction The new direction for the snake.
+     * @param keyNanos the time of the key event.
      */
-    private void setDirection(final Direction direction) {
-        snakeModel.setDirection(direction);
+    private void setDirection(final Direction direction, final long keyNanos) {
+        snakeModel.setDirection(direction, keyNanos);
     }
 
     /**
-     * Creates the game loop that updates the game state at regular intervals.
-     * If we abort the game the game loop stops and we pause the booster mechanics
-     * and if it's game over we also show the game-over screen.
+     * Runs one tick of the game on the {@link GameLoopScheduler} thread, which replaces
+     * the Swing timer so ticks keep their rate no matter how busy the EDT is.
+     * If we abort the game, or it's game over, the loop stops and the round is ended on the EDT.
+     * @return {@code true} if the game loop should keep running.
      */
-    private void createGameLoop() {
-        gameLoop = new Timer(AppConfigSnake.SNAKE_TICK_DELAY, e -> {
-            if (gameOn && !snakeModel.isGameOver()) {
-                snakeModel.updateSnakeData(this::updateGameGrid);
-            } else {
-                gameLoop.stop();
-                if (snakeModel.isGameOver()) {
-                    singlePlayerView.showGameOver(
-                        snakeModel.getSnake().size(),
-                        (AppConfigSnake.SECOND_IN_MS / gameLoop.getDelay())
-                    );
-                }
-                BoosterPool.INSTANCE.setPaused(true);
-                BoosterPool.INSTANCE.resetBoosterActivation();
-                snakeModel.cancelSpeedBoost();
+    private boolean runTick() {
+        synchronized (tickLock) {
+            if (!gameOn || snakeModel.isGameOver()) {
+                SwingUtilities.invokeLater(this::endRound);
+                return false;
             }
-        });
+
+            snakeEngine.step(1);
+        }
+        return true;
     }
 
     /**
-     * This is updated via a callback from the snakeModel whenever the speed have been changed.
-     *
-     * <p>It then adjusts the game loop delay accordingly. It's essentially a simplified
-     * Observer pattern with a push implementation.</p>
-     * @param timerDelay The delay to be set on the gameLoop.
+     * Ends a round on the EDT: pauses the booster mechanics and the session timer and
+     * if it's game over we also show the game-over screen.
+     * Does nothing if a new round already started or the game was closed in the meantime.
      */
-    private void updateTimerDelay(final int timerDelay) {
-        gameLoop.setDelay(timerDelay);
+    private void endRound() {
+        if (closed || (gameOn && !snakeModel.isGameOver())) { return; }
+
+        stopRendering();
+        if (snakeModel.isGameOver()) {
+            singlePlayerView.showGameOver(
+                snakeModel.getSnake().size(),
+                (AppConfigSnake.SECOND_IN_MS / snakeModel.getSpeed())
+            );
+        }
+        BoosterPool.INSTANCE.setPaused(true);
+        BoosterPool.INSTANCE.resetBoosterActivation();
+        snakeModel.cancelSpeedBoost();
+        sessionTimer.pause();
     }
 
     @Override
     public void initiateGameState() {
         snakeView.showStartMenu(); // Shows the start menu.
         singlePlayerView.hideGameOver(); // hides the gameOverPanel if it's visible.
-        gameOn = false; // Stops the swing timer from executing.
+        gameOn = false; // Stops the game loop at its next tick.
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>This initialize the snake, activate the booster mechanics, ensures the
+     * <p>This initialize the snake, activate the booster mechanics and the session timer, ensures the
      * single player view is properly set up in the card layout, starts the game loop
-     * and waits for the AudioManager to load all sounds (The boosters preloaded their
-     * sound effects when they were instantiated and the controller will wait until
-     * all sounds are properly loaded).</p>
+     * and the audio playback. It never waits for sounds to load (The boosters started preloading
+     * their sound effects when they were instantiated and are silent until they are ready).</p>
+     *
+     * <p>The time from here until the first frame of the new game is presented is recorded.</p>
      */
     @Override
     public void startGame() {
-        snakeModel.initializeSnakeData(this::updateGameGrid);
+        gameStartNanos = System.nanoTime();
+        gameLoop.stop(); // Makes sure a previous round's loop has finished before the snake is reset.
+        synchronized (tickLock) {
+            snakeEngine.start();
+            renderedTick = NOT_RENDERED;
+        }
         BoosterPool.INSTANCE.setPaused(false);
+        sessionTimer.resume();
         singlePlayerView.hideGameOver();
         snakeView.showSinglePlayerView();
         singlePlayerView.requestFocusInGameGrid();
 
         gameOn = true;
         gameLoop.start();
+        if (AppConfigSnake.ACTIVE_RENDERING) {
+            singlePlayerView.startRenderLoop();
+        }
 
         // Prepare the AudioManager for playback if not done already.
-        AudioManager.INSTANCE.queueSoundEffect(AppConfig.SOUND_EFFECTS_LOADED);
+        AudioManager.INSTANCE.startAudio();
     }
 
     /**
-     * Method that is passed into the SnakeModel as a callback for updating the game grid
-     * with the fresh game data in the view.
+     * Stops the active render loop if it's used and logs the time to first frame, simulation ticks,
+     * tick jitter, input metrics, input latencies and the frame statistics of the round when debugging.
+     */
+    private void stopRendering() {
+        if (AppConfigSnake.ACTIVE_RENDERING) {
+            singlePlayerView.stopRenderLoop();
+        }
+
+        if (AppConfigLauncher.DEBUG_MODE) {
+            DebugLogger.INSTANCE.logInfo(timeToFirstFrame.summary());
+            DebugLogger.INSTANCE.logInfo("Simulation: " + snakeEngine.getTickCount() + " ticks");
+            DebugLogger.INSTANCE.logInfo(gameLoop.getTickJitter().summary());
+            DebugLogger.INSTANCE.logInfo(snakeModel.getDirectionQueue().summary());
+            DebugLogger.INSTANCE.logInfo(snakeModel.getInputLatency().getKeyToTick().summary());
+            DebugLogger.INSTANCE.logInfo(snakeModel.getInputLatency().getTickToFrame().summary());
+            DebugLogger.INSTANCE.logInfo(snakeModel.getInputLatency().getKeyToFrame().summary());
+            DebugLogger.INSTANCE.logInfo(singlePlayerView.getFrameStats(AppConfigSnake.ACTIVE_RENDERING).summary());
+        }
+    }
+
+    /**
+     * Method that is passed into the SnakeEngine as a tick listener. The ticks run off the EDT,
+     * so this hands the update over to it. If the EDT hasn't caught up with the previous update
+     * yet, no new one is queued, the pending one will render the latest state.
+     */
+    private void requestGameGridUpdate() {
+        if (renderPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::updateGameGrid);
+        }
+    }
+
+    /**
+     * Updates the game grid in the view with the fresh game data. It holds the tick lock so the
+     * game data doesn't change while it's read. The first update after a start and any update where
+     * more than one tick has run since the last one redraw the whole grid, since the per tick delta
+     * isn't enough to bring the view up to date.
      */
     private void updateGameGrid() {
-        singlePlayerView.updateGameGrid(snakeModel.getSnake(), BoosterPool.INSTANCE.getActiveBoosterData());
+        synchronized (tickLock) {
+            renderPending.set(false);
+
+            final long tick = snakeEngine.getTickCount();
+            if (renderedTick == NOT_RENDERED || tick - renderedTick > 1) {
+                singlePlayerView.redrawGameGrid(snakeModel.getSnake(), BoosterPool.INSTANCE.getActiveBoosterData());
+            } else {
+                singlePlayerView.updateGameGrid(
+                    snakeModel.getTickDelta(),
+                    snakeModel.getSnake(),
+                    BoosterPool.INSTANCE.getActiveBoosterData(),
+                    snakeEngine.getLastTickNanos(),
+                    snakeEngine.getTimestepNanos()
+                );
+            }
+            renderedTick = tick;
+            snakeModel.getInputLatency().onViewUpdated();
+        }
+
+        if (gameStartNanos != NO_GAME_START) {
+            // The view shows the new game, so the next presented frame is its first.
+            awaitingFirstFrame.set(gameStartNanos);
+            gameStartNanos = NO_GAME_START;
+        }
+    }
+
+    /**
+     * Method that is passed into the view as a frame listener. It runs for every presented frame,
+     * on the render loop's thread or the EDT, and completes the latency measurements waiting for one.
+     * @param frameNanos the time the frame was presented.
+     */
+    private void onFramePresented(final long frameNanos) {
+        snakeModel.getInputLatency().onFramePresented(frameNanos);
+
+        final long startNanos = awaitingFirstFrame.getAndSet(NO_GAME_START);
+        if (startNanos != NO_GAME_START) {
+            timeToFirstFrame.record(frameNanos - startNanos);
+        }
     }
 
     /*==========================
@@ -208,19 +324,21 @@ class SnakeController implements IGameController {
     /**
      * {@inheritDoc}
      * <p>
-     * Stops the game loop timer if it is currently running, remove listeners and shut down other resources.
+     * Stops the game loop if it is currently running, remove listeners and shut down other resources.
      * </p>
      */
     @Override
     public void closeGame() {
-        if (gameLoop != null) {
-            gameLoop.stop();
-            gameLoop = null;
+        closed = true;
+        gameOn = false;
+        gameLoop.stop();
+        if (AppConfigSnake.ACTIVE_RENDERING) {
+            singlePlayerView.stopRenderLoop();
         }
         removeListeners();
 
         BoosterPool.INSTANCE.shutdown();
-        snakeModel.shutdownScheduler();
+        sessionTimer.shutdown();
     }
 
     @Override
@@ -1,37 +1,57 @@
 package com.jman.gamelauncher.model;
 
 import java.awt.Color;
-import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
+import com.jman.gamelauncher.support.HashedWheelTimer;
+
 /**
  * Represents an abstract booster in the Snake game.
- * A booster is a background thread that waits to be activated,
+ * A booster waits in the pool to be activated, cools down before it appears on the grid,
  * applies an effect when consumed, and then returns itself to the booster pool.
  *
- * <p>The booster remains in a waiting state until activated. Once activated,
- * it waits to be consumed, applies its effect, plays a sound, and returns to the pool.</p>
+ * <p>The lifecycle is a non-blocking state machine (see {@link BoosterState}) where every
+ * transition is a compare-and-set. The state is packed into one {@code long} together with the number
+ * of the current activation, so a transition can't succeed for an activation that has been superseded,
+ * e.g. a cool down from before a pause ending the cool down of the next activation. The only timed
+ * transition, the cool down, is driven by the {@link BoosterRuntime} chosen by the pool: either a
+ * timeout on the session's {@link HashedWheelTimer}, so a booster costs a timeout rather than a thread,
+ * or a virtual thread per booster that waits on a {@link Condition}. In both cases neither consuming,
+ * pausing nor shutting down ever blocks.</p>
  *
  * <p>This class follows a template method pattern where concrete subclasses
- * define the booster-specific effect and sound in the {@link #run()}
- * method which serves as the template.</p>
+ * define the booster-specific cool down, effect and sound that the lifecycle
+ * methods invoke.</p>
  *
  * @author Joel Lansgren
  */
-public abstract class BoosterModel extends Thread {
-    private final Point position = new Point();
+public abstract class BoosterModel {
+    private static final long SHUT_DOWN = -1;
+    private static final BoosterState[] STATES = BoosterState.values();
+    private static final int STATE_BITS = 3;
+    private static final long STATE_MASK = (1L << STATE_BITS) - 1;
+    private final String name;
+    // The state in the low bits and the number of activations above them, changed together by compare-and-set.
+    private final AtomicLong lifecycle = new AtomicLong(pack(BoosterState.IDLE, 0));
+    private volatile int cell;
+    private volatile HashedWheelTimer.Timeout coolDownTask;
+    private HashedWheelTimer timer;
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private final Condition stateChanged = lifecycleLock.newCondition();
+    private Thread lifecycleThread;
     private Consumer<BoosterModel> returnBooster;
-    private boolean isActive;
-    private boolean isPause;
-    private boolean running = true;
+    private Consumer<BoosterModel> activatedBooster = booster -> {};
 
     /**
-     * Constructs a new booster with the specified thread name and starts it immediately.
-     * @param name the name of the booster thread.
+     * Constructs a new booster with the specified name.
+     * @param name the name of the booster, used when debugging.
      */
     BoosterModel(final String name) {
-        super.setName(name);
-        super.start();
+        this.name = name;
     }
 
     /*==============================
@@ -43,15 +63,31 @@ public abstract class BoosterModel extends Thread {
      * @return {@code true} if the booster is active, {@code false} otherwise.
      */
     public boolean isActive() {
-        return isActive;
+        return getState() == BoosterState.ACTIVE;
+    }
+
+    /**
+     * Gets the current state of the booster's lifecycle.
+     * @return the state of the booster.
+     */
+    public BoosterState getState() {
+        return stateOf(lifecycle.get());
     }
 
     /**
-     * Gets the position of the booster on the game grid.
-     * @return the current position of the booster.
+     * Gets the cell of the booster on the game grid.
+     * @return the row-major cell index of the booster.
      */
-    public Point getPosition() {
-        return new Point(position);
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Gets the name of the booster.
+     * @return the name of the booster.
+     */
+    public String getName() {
+        return name;
     }
 
     /*==============================
@@ -67,14 +103,45 @@ public abstract class BoosterModel extends Thread {
         this.returnBooster = returnBooster;
     }
 
+    /**
+     * Sets the method that is notified once the booster has cooled down and become active
+     * on the grid. This lets the booster pool index it by its position.
+     * @param activatedBooster a {@link Consumer} that handles the newly activated booster.
+     */
+    public void setActivatedBoosterMethod(final Consumer<BoosterModel> activatedBooster) {
+        this.activatedBooster = activatedBooster;
+    }
+
+    /**
+     * Sets the timer that drives the booster's cool down in the {@link BoosterRuntime#SCHEDULED}
+     * runtime. It's the timer of the game session, shared by all boosters.
+     * @param timer the session timer.
+     */
+    public void setTimer(final HashedWheelTimer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Starts the virtual thread that drives the booster's cool down in the
+     * {@link BoosterRuntime#VIRTUAL_THREAD} runtime. Should only be called once.
+     */
+    public void startVirtualThread() {
+        lifecycleThread = Thread.ofVirtual().name(name).start(this::runLifecycle);
+    }
+
     /*==============================
     * Abstract methods
     ==============================*/
 
-    abstract void spawnCoolDown();
+    /**
+     * Gets how long the booster should cool down before it appears on the grid.
+     * @return the cool down in milliseconds.
+     */
+    abstract long spawnCoolDown();
 
     /**
-     * Preloads any necessary sound effects for the booster.
+     * Preloads any necessary sound effects for the booster in the background.
+     * Until they are loaded, consuming the booster is silent.
      */
     abstract void loadSoundEffect();
 
@@ -95,90 +162,205 @@ public abstract class BoosterModel extends Thread {
     public abstract Color getBoosterColor();
 
     /*==============================
-    * Notify!
+    * Lifecycle
     ==============================*/
 
     /**
-     * Activates the booster by setting its position and waking up the thread.
-     * This allows it to enter the active state and wait to be consumed.
-     * @param newPosition the position in the grid where the booster should appear.
+     * Activates an idle booster on a cell and schedules the end of its cool down,
+     * after which it becomes active and can be consumed.
+     * @param newCell the cell in the grid where the booster should appear.
      */
-    synchronized public void activate(final Point newPosition) {
-        position.setLocation(newPosition);
-        notify(); // Wake up the thread to let it advance to the active wait state
+    public void activate(final int newCell) {
+        final long idle = lifecycle.get();
+        if (stateOf(idle) != BoosterState.IDLE) { return; }
+
+        // The cell is set before the booster leaves IDLE, so a pause that returns it right away frees this cell.
+        cell = newCell;
+        final long currentActivation = activationOf(idle) + 1;
+        if (!lifecycle.compareAndSet(idle, pack(BoosterState.COOLING_DOWN, currentActivation))) { return; }
+
+        if (lifecycleThread != null) {
+            signalLifecycle(); // Wake up the virtual thread to let it start the cool down.
+        } else {
+            coolDownTask = timer.schedule(
+                () -> becomeActive(currentActivation), spawnCoolDown(), TimeUnit.MILLISECONDS
+            );
+        }
     }
 
     /**
-     * Consumes the booster, let it trigger its effect and return itself to the pool if the game is not paused.
-     * This makes sure its available for reactivation by the booster controller.
-     * If the game is paused, the effect is skipped.
+     * Ends the cool down, unless the booster was paused, activated again or shut down in the meantime,
+     * and notifies the pool that the booster is on the grid.
+     * @param coolingActivation the activation whose cool down ended.
+     */
+    private void becomeActive(final long coolingActivation) {
+        if (lifecycle.compareAndSet(
+            pack(BoosterState.COOLING_DOWN, coolingActivation), pack(BoosterState.ACTIVE, coolingActivation)
+        )) {
+            activatedBooster.accept(this);
+        }
+    }
+
+    /**
+     * Consumes an active booster, let it trigger its effect and return itself to the pool if the game
+     * is not paused. This makes sure its available for reactivation by the booster pool.
+     * If the game is paused, the effect is skipped and a booster that is still cooling down
+     * is returned to the pool as well.
      * @param isPause whether the game is currently paused.
      */
-    synchronized public void consume(final boolean isPause) {
-        this.isPause = isPause;
-        notify(); // Wake up the thread to let it do it's task
+    public void consume(final boolean isPause) {
+        if (transition(BoosterState.ACTIVE, BoosterState.CONSUMED)) {
+            if (!isPause) {
+                applyEffect();
+                playSoundEffect();
+            }
+            returnToPool();
+        } else if (isPause && transition(BoosterState.COOLING_DOWN, BoosterState.CONSUMED)) {
+            cancelCoolDown();
+            returnToPool();
+        }
+    }
+
+    /**
+     * Shuts the booster down. Any pending cool down is cancelled and the booster
+     * will ignore every lifecycle call from here on.
+     */
+    public void shutdown() {
+        lifecycle.getAndUpdate(current -> pack(BoosterState.SHUTDOWN, activationOf(current)));
+        cancelCoolDown(); // Also wakes up the virtual thread to exit.
+    }
+
+    /**
+     * Sets the consumed booster to idle and hands it back to the pool. If the booster was shut down
+     * while it was being consumed, it stays shut down and isn't handed back.
+     */
+    private void returnToPool() {
+        if (transition(BoosterState.CONSUMED, BoosterState.IDLE)) {
+            returnBooster.accept(this);
+        }
+    }
+
+    /**
+     * Moves the booster from one state to another within the same activation.
+     * @param from the state the booster must be in.
+     * @param to the new state.
+     * @return {@code true} if the booster was in the expected state and has been moved.
+     */
+    private boolean transition(final BoosterState from, final BoosterState to) {
+        long current;
+        do {
+            current = lifecycle.get();
+            if (stateOf(current) != from) { return false; }
+        } while (!lifecycle.compareAndSet(current, pack(to, activationOf(current))));
+        return true;
     }
 
     /**
-     * Signals the thread to shut down gracefully.
-     * The booster will exit its loop and stop execution.
+     * Cancels the scheduled cool down if there is one, or wakes up the virtual thread
+     * so it stops cooling down.
      */
-    synchronized public void shutdown() {
-        running = false;
-        isActive = !isActive;
-        notify(); // Wake up the thread to exit
+    private void cancelCoolDown() {
+        final HashedWheelTimer.Timeout task = coolDownTask;
+        if (task != null) {
+            task.cancel();
+        }
+        signalLifecycle();
     }
 
     /*==============================
-    * Run!
+    * Virtual thread runtime
     ==============================*/
 
     /**
-     * The main execution loop for the booster thread.
-     * The thread waits in an inactive state until activated, then waits
-     * to be consumed. When consumed, it applies its effect and returns
-     * itself to the pool before repeating the cycle.
-     */
-    @Override
-    public final void run() {
-        while (running) {
-            synchronized (this) {
-                while (!isActive && running) {
-                    try {
-                        wait(); // Wait until activated or shutdown
-                        if (running) {
-                            System.out.println("cool down");
-                            // TODO: since this is in a synced block and the thread goes to sleep
-                            // it makes it impossible for another thread to enter the synced methods
-                            // above to notify it to pause or shut down: I think thats why the game loop
-                            // bug arises when closing the game.
-                            spawnCoolDown();
-                            System.out.println("active");
-                        }
-                        isActive = true;
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
+     * The lifecycle loop of the virtual thread. It waits to be activated, cools down
+     * and makes the booster active until the booster is shut down.
+     */
+    private void runLifecycle() {
+        try {
+            long cooledActivation;
+            while ((cooledActivation = awaitCoolDown()) != SHUT_DOWN) {
+                becomeActive(cooledActivation);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until the booster is activated and then for its cool down to pass. The cool down ends early
+     * if the booster is paused or shut down, which {@link #becomeActive(long)} then ignores. If the booster
+     * was paused and activated again before this thread noticed, the cool down starts over for the new
+     * activation instead of finishing the old one's remainder.
+     * @return the activation that cooled down, or {@link #SHUT_DOWN} if the loop should exit.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private long awaitCoolDown() throws InterruptedException {
+        lifecycleLock.lock();
+        try {
+            while (true) {
+                long cooling;
+                while (stateOf(cooling = lifecycle.get()) != BoosterState.COOLING_DOWN) {
+                    if (stateOf(cooling) == BoosterState.SHUTDOWN) { return SHUT_DOWN; }
+                    stateChanged.await(); // Wait until activated or shutdown.
                 }
 
-                if (running) {
-                    while (isActive && running) {
-                        try {
-                            wait(); // Wait until consumed
-                            isActive = false;
-                        } catch (final InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-
-                    if (!isPause) {
-                        applyEffect();
-                        playSoundEffect();
-                    }
-
-                    returnBooster.accept(this);
+                long remaining = TimeUnit.MILLISECONDS.toNanos(spawnCoolDown());
+                while (remaining > 0 && lifecycle.get() == cooling) {
+                    remaining = stateChanged.awaitNanos(remaining); // Cool down, unless paused or shut down.
                 }
+
+                final long current = lifecycle.get();
+                if (stateOf(current) == BoosterState.SHUTDOWN) { return SHUT_DOWN; }
+                if (activationOf(current) == activationOf(cooling)) { return activationOf(cooling); }
             }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /*==============================
+    * State packing
+    ==============================*/
+
+    /**
+     * Packs a state and an activation number into one value.
+     * @param state the state.
+     * @param activation the number of the activation.
+     * @return the packed lifecycle value.
+     */
+    private static long pack(final BoosterState state, final long activation) {
+        return activation << STATE_BITS | state.ordinal();
+    }
+
+    /**
+     * Unpacks the state of a lifecycle value.
+     * @param lifecycle the packed lifecycle value.
+     * @return the state.
+     */
+    private static BoosterState stateOf(final long lifecycle) {
+        return STATES[(int) (lifecycle & STATE_MASK)];
+    }
+
+    /**
+     * Unpacks the activation number of a lifecycle value.
+     * @param lifecycle the packed lifecycle value.
+     * @return the number of the activation.
+     */
+    private static long activationOf(final long lifecycle) {
+        return lifecycle >>> STATE_BITS;
+    }
+
+    /**
+     * Wakes up the virtual thread so it can act on a state change.
+     */
+    private void signalLifecycle() {
+        if (lifecycleThread == null) { return; }
+
+        lifecycleLock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            lifecycleLock.unlock();
         }
     }
 }
@@ -0,0 +1,16 @@
+package com.jman.gamelauncher.model;
+
+/**
+ * The runtimes that can drive the lifecycle of the {@link BoosterModel}s, chosen when the booster pool
+ * is initialized.
+ *
+ * <p>{@link #SCHEDULED} runs every cool down as a timeout on the game session's
+ * {@link com.jman.gamelauncher.support.HashedWheelTimer}, which all boosters share with the rest of the session.
+ * {@link #VIRTUAL_THREAD} gives each booster its own virtual thread that waits for its transitions
+ * on a {@link java.util.concurrent.locks.Condition}, which doesn't pin a carrier thread.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum BoosterRuntime {
+    SCHEDULED, VIRTUAL_THREAD;
+}
@@ -0,0 +1,14 @@
+package com.jman.gamelauncher.model;
+
+/**
+ * The states of a {@link BoosterModel}'s lifecycle.
+ *
+ * <p>A booster moves from {@link #IDLE} to {@link #COOLING_DOWN} when the pool activates it,
+ * to {@link #ACTIVE} when the cool down has passed, and to {@link #CONSUMED} when the snake eats it
+ * or the game is paused, before returning to the pool as {@link #IDLE} again.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum BoosterState {
+    IDLE, COOLING_DOWN, ACTIVE, CONSUMED, SHUTDOWN;
+}
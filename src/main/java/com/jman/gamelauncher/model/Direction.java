@@ -12,4 +12,14 @@ package com.jman.gamelauncher.model;
  */
 public enum Direction {
     UP, LEFT, RIGHT, DOWN;
+
+    /**
+     * Checks if a direction is the opposite of this one. The constants are ordered so that
+     * the ordinals of opposite directions always add up to 3.
+     * @param other the direction to compare with, may be {@code null}.
+     * @return {@code true} if moving in the other direction would reverse this one.
+     */
+    public boolean isOpposite(final Direction other) {
+        return other != null && ordinal() + other.ordinal() == 3;
+    }
 }
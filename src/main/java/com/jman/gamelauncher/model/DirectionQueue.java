@@ -0,0 +1,172 @@
+package com.jman.gamelauncher.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free single-producer single-consumer queue of direction commands.
+ *
+ * <p>The EDT offers the directions of key presses and the simulation polls one per tick, so two
+ * quick presses within one tick, like UP then LEFT for a tight turn, are both applied instead of
+ * the last one overwriting the first. Each side only writes its own index and publishes it with
+ * release semantics, the other side reads it with acquire semantics, so neither side ever locks.</p>
+ *
+ * <p>The producer validates commands against the direction the snake will have once everything
+ * queued has been applied: a repeat of that direction is coalesced, a reversal is rejected and
+ * a command that doesn't fit in the queue is dropped. Each outcome is counted. Every command also
+ * carries the time of its key event, so the consumer can measure how long it waited.</p>
+ *
+ * <p>{@link #reset(Direction)} must only be called while neither side is running.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class DirectionQueue {
+    private final Direction[] buffer;
+    private final long[] eventNanos;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private final AtomicLong readIndex = new AtomicLong();
+    private Direction lastQueued;
+    private long polledEventNanos;
+
+    // Input metrics, only written by the producer.
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Constructs an empty queue.
+     * @param capacity the maximum number of queued commands, rounded up to a power of two (at least 1).
+     */
+    public DirectionQueue(final int capacity) {
+        final int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Direction[size];
+        eventNanos = new long[size];
+        mask = size - 1;
+    }
+
+    /*==============================
+    * Producer
+    ==============================*/
+
+    /**
+     * Offers a direction command. Called by the producer thread only.
+     * @param direction the direction of the key press.
+     * @param keyNanos the time of the key event on the {@link System#nanoTime()} clock.
+     * @return {@code true} if the command was queued.
+     */
+    public boolean offer(final Direction direction, final long keyNanos) {
+        if (direction == lastQueued) {
+            coalesced.incrementAndGet();
+            return false;
+        }
+        if (direction.isOpposite(lastQueued)) {
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        final long write = writeIndex.get();
+        if (write - readIndex.getAcquire() == buffer.length) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        buffer[(int) write & mask] = direction;
+        eventNanos[(int) write & mask] = keyNanos;
+        writeIndex.setRelease(write + 1); // Publishes the slot to the consumer.
+        lastQueued = direction;
+        queued.incrementAndGet();
+        return true;
+    }
+
+    /*==============================
+    * Consumer
+    ==============================*/
+
+    /**
+     * Takes the oldest command. Called by the consumer thread only.
+     * @return the direction, or {@code null} if no command is queued.
+     */
+    public Direction poll() {
+        final long read = readIndex.get();
+        if (read == writeIndex.getAcquire()) { return null; }
+
+        final Direction direction = buffer[(int) read & mask];
+        polledEventNanos = eventNanos[(int) read & mask];
+        readIndex.setRelease(read + 1); // Hands the slot back to the producer.
+        return direction;
+    }
+
+    /*==============================
+    * Lifecycle
+    ==============================*/
+
+    /**
+     * Empties the queue and clears the metrics for a new game.
+     * @param direction the direction the snake starts in.
+     */
+    public void reset(final Direction direction) {
+        writeIndex.set(0);
+        readIndex.set(0);
+        lastQueued = direction;
+        queued.set(0);
+        coalesced.set(0);
+        rejected.set(0);
+        dropped.set(0);
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the time of the key event of the last polled command. Called by the consumer thread only.
+     * @return the time on the {@link System#nanoTime()} clock.
+     */
+    public long getPolledEventNanos() {
+        return polledEventNanos;
+    }
+
+    /**
+     * Gets the number of commands that were queued.
+     * @return the queued count.
+     */
+    public long getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the number of commands that repeated the last queued direction and were merged into it.
+     * @return the coalesced count.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Gets the number of commands that would have reversed the snake.
+     * @return the rejected count.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of commands that were lost because the queue was full.
+     * @return the dropped count.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Summarizes the input metrics on one line for the debug log.
+     * @return the summary.
+     */
+    public String summary() {
+        return String.format(
+            "Input: %d queued, %d coalesced, %d rejected reversals, %d dropped",
+            getQueued(), getCoalesced(), getRejected(), getDropped()
+        );
+    }
+}
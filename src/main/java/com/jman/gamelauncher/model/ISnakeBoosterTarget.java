@@ -1,16 +1,13 @@
 package com.jman.gamelauncher.model;
 
-import java.awt.Point;
-import java.util.List;
-
 /**
  * This interface is implemented by the entity that are to be the target of boosters - which is the {@link SnakeModel}.
  *
  * <p>It defines a contract with methods that allow boosters to interact with the target without
  * exposing its complete internal state.</p>
  *
- * <p>The implementing class should provide access to the snake, so boosters don't spawn on it,
- * and the methods used by the boosters. Additional methods needs to be added when new booster
+ * <p>The implementing class should provide read-only access to the snake and the methods used
+ * by the boosters. Additional methods needs to be added when new booster
  * types are added.</p>
  *
  * @author Joel Lansgren
@@ -18,10 +15,10 @@ import java.util.List;
 public interface ISnakeBoosterTarget {
 
     /**
-     * Returns the snake as an unmodifiable list for overlaying on the views grid.
+     * Returns a read-only view of the snake for overlaying on the views grid.
      * @return the snake
      */
-    List<Point> getSnake();
+    SnakeBody getSnake();
 
     /*=======================
     * CherryBooster
@@ -51,7 +48,7 @@ public interface ISnakeBoosterTarget {
      *
      * <p>This method is to used by the speed booster. If the booster effect isn't
      * active it goes ahead and doubles the speed, set a boolean to signal it's
-     * effect is activated, then starts a scheduler that will reset the speed
+     * effect is activated, then schedules a timeout that will reset the speed
      * after 7 seconds, taking any speed increases set by the cherry into
      * account.</p>
      * @param speedMultiplier The multiplier that will be used to calculate the
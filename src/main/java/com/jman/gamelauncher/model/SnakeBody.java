@@ -0,0 +1,159 @@
+package com.jman.gamelauncher.model;
+
+import java.util.Arrays;
+
+/**
+ * The body of the snake, stored as a ring buffer of packed cell indices.
+ *
+ * <p>A cell index is the row-major position {@code y * gridSize + x}, the same index the view
+ * uses for its cells. The buffer has room for every cell on the grid, so adding a head and
+ * removing a tail never allocates or shifts anything. An occupancy grid is kept in sync with
+ * the buffer so checking whether a cell belongs to the snake is a single lookup.</p>
+ *
+ * <p>Only the {@link SnakeModel} can modify the body, everyone else gets this class as a
+ * read-only view. Boosters may read it from other threads, in which case they see a
+ * best-effort state that's at most one tick old.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeBody {
+    private final int gridSize;
+    private final int[] cells;
+    private final boolean[] occupiedCells;
+    private int tailIndex;
+    private int size;
+
+    /**
+     * Constructs an empty body with room for every cell on a square grid.
+     * @param gridSize the number of cells on each side of the grid.
+     */
+    SnakeBody(final int gridSize) {
+        this.gridSize = gridSize;
+        cells = new int[gridSize * gridSize];
+        occupiedCells = new boolean[gridSize * gridSize];
+    }
+
+    /*==============================
+    * Mutators
+    ==============================*/
+
+    /** Removes all body parts. */
+    void clear() {
+        Arrays.fill(occupiedCells, false);
+        tailIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a new head and marks its cell as occupied.
+     * @param cell the cell index of the new head.
+     * @throws IllegalStateException if the body already covers every cell, since the head would overwrite the tail.
+     */
+    void addHead(final int cell) {
+        if (size == cells.length) {
+            throw new IllegalStateException("The snake already covers all " + cells.length + " cells");
+        }
+
+        cells[(tailIndex + size) % cells.length] = cell;
+        occupiedCells[cell] = true;
+        size++;
+    }
+
+    /**
+     * Removes the tail and frees its cell.
+     * @return the cell index of the removed tail.
+     */
+    int removeTail() {
+        final int cell = cells[tailIndex];
+        occupiedCells[cell] = false;
+        tailIndex = (tailIndex + 1) % cells.length;
+        size--;
+        return cell;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Checks if the body covers every cell on the grid, so there is no room for another head.
+     * @return {@code true} if the body is full.
+     */
+    public boolean isFull() {
+        return size == cells.length;
+    }
+
+    /**
+     * Gets the number of body parts.
+     * @return the length of the snake.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a body part counting from the tail.
+     * @param index 0 for the tail up to {@code size() - 1} for the head.
+     * @return the cell index of the body part.
+     */
+    public int cellAt(final int index) {
+        return cells[(tailIndex + index) % cells.length];
+    }
+
+    /**
+     * Gets the head of the snake.
+     * @return the cell index of the head.
+     */
+    public int head() {
+        return cellAt(size - 1);
+    }
+
+    /**
+     * Checks if a cell is occupied by the snake.
+     * @param cell the cell index to check.
+     * @return {@code true} if any body part is on the cell.
+     */
+    public boolean occupies(final int cell) {
+        return occupiedCells[cell];
+    }
+
+    /**
+     * Gets the number of cells on each side of the grid.
+     * @return the grid size.
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /*==============================
+    * Cell helpers
+    ==============================*/
+
+    /**
+     * Packs a grid position into a cell index.
+     * @param x the column.
+     * @param y the row.
+     * @return the cell index.
+     */
+    public int toCell(final int x, final int y) {
+        return (y * gridSize) + x;
+    }
+
+    /**
+     * Gets the column of a cell index.
+     * @param cell the cell index.
+     * @return the column.
+     */
+    public int cellX(final int cell) {
+        return cell % gridSize;
+    }
+
+    /**
+     * Gets the row of a cell index.
+     * @param cell the cell index.
+     * @return the row.
+     */
+    public int cellY(final int cell) {
+        return cell / gridSize;
+    }
+}
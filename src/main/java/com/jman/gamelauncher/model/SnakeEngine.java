@@ -0,0 +1,162 @@
+package com.jman.gamelauncher.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A headless, fixed-timestep simulation engine that advances a {@link SnakeModel}.
+ *
+ * <p>The engine knows nothing about Swing, timers or the EDT. It is driven either by
+ * {@link #step(int)}, which runs an exact number of ticks back to back, or by
+ * {@link #advance()}, which reads the injected clock and runs as many ticks as the elapsed
+ * time allows using the model's current tick delay as the timestep. This makes it possible
+ * to run thousands of ticks per second for soak tests, bots and benchmarks, while the Swing
+ * controller is just one client that calls it from its game loop.</p>
+ *
+ * <p>The tick counter and the time of the last tick are published for other threads, so a
+ * renderer running at its own frame rate can interpolate between the last two states.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeEngine {
+    private final SnakeModel snakeModel;
+    private final LongSupplier nanoClock;
+    private final int maxTicksPerAdvance;
+    private Runnable tickListener = () -> {};
+    private long lastTime;
+    private long accumulator;
+    private volatile long tickCount;
+    private volatile long lastTickNanos;
+
+    /**
+     * Constructs an engine that reads time from {@link System#nanoTime()}.
+     * @param snakeModel the model to simulate.
+     */
+    public SnakeEngine(final SnakeModel snakeModel) {
+        this(snakeModel, System::nanoTime, 5);
+    }
+
+    /**
+     * Constructs an engine with an injected clock.
+     * @param snakeModel the model to simulate.
+     * @param nanoClock a monotonic clock returning nanoseconds, e.g. a fake clock in tests.
+     * @param maxTicksPerAdvance the maximum number of ticks a single {@link #advance()} may run,
+     * so a stalled client doesn't spiral into an endless catch up.
+     */
+    public SnakeEngine(final SnakeModel snakeModel, final LongSupplier nanoClock, final int maxTicksPerAdvance) {
+        this.snakeModel = snakeModel;
+        this.nanoClock = nanoClock;
+        this.maxTicksPerAdvance = maxTicksPerAdvance;
+    }
+
+    /*==============================
+    * Engine Methods
+    ==============================*/
+
+    /**
+     * Initializes the snake data, resets the tick counter and anchors the clock.
+     * Must be called before a new game is stepped.
+     */
+    public void start() {
+        tickCount = 0;
+        accumulator = 0;
+        lastTime = nanoClock.getAsLong();
+        lastTickNanos = lastTime;
+        snakeModel.initializeSnakeData(tickListener);
+    }
+
+    /**
+     * Runs the given number of ticks back to back, ignoring the clock.
+     * Stops early if the game ends.
+     * @param ticks the number of ticks to run.
+     * @return the number of ticks that actually ran.
+     */
+    public int step(final int ticks) {
+        int executed = 0;
+
+        while (executed < ticks && !snakeModel.isGameOver()) {
+            tick();
+            executed++;
+        }
+
+        return executed;
+    }
+
+    /**
+     * Reads the clock and runs every tick that is due, using the model's current speed
+     * as the timestep. Time that isn't enough for a whole tick is carried over to the next call.
+     * @return the number of ticks that ran.
+     */
+    public int advance() {
+        final long now = nanoClock.getAsLong();
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int executed = 0;
+        long timestep = getTimestepNanos();
+
+        while (accumulator >= timestep && !snakeModel.isGameOver()) {
+            if (executed == maxTicksPerAdvance) {
+                accumulator = 0; // Drop the backlog rather than trying to catch up forever.
+                break;
+            }
+
+            accumulator -= timestep;
+            tick();
+            executed++;
+            timestep = getTimestepNanos(); // A booster may have changed the speed this tick.
+        }
+
+        return executed;
+    }
+
+    /**
+     * Runs one tick of the simulation.
+     */
+    private void tick() {
+        final long tickNanos = nanoClock.getAsLong();
+        lastTickNanos = tickNanos;
+        tickCount++;
+        snakeModel.updateSnakeData(tickNanos, tickListener);
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the number of ticks that have run since {@link #start()}.
+     * @return the tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the time the last tick ran, or the time of {@link #start()} if none has.
+     * @return the clock reading in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Gets the current timestep, which is the model's tick delay.
+     * @return the timestep in nanoseconds.
+     */
+    public long getTimestepNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(snakeModel.getSpeed());
+    }
+
+    /*==============================
+    * Setters
+    ==============================*/
+
+    /**
+     * Sets the callback that runs after every tick and on {@link #start()}, e.g. to update a view.
+     * @param tickListener the callback to run.
+     */
+    public void setTickListener(final Runnable tickListener) {
+        this.tickListener = tickListener;
+    }
+}
@@ -1,19 +1,14 @@
 package com.jman.gamelauncher.model;
 
-import java.awt.Point;
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
 
 import com.jman.gamelauncher.support.AppConfigSnake;
 import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.FreeCellSet;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+import com.jman.gamelauncher.support.InputLatencyTracker;
 
 /**
  * The SnakeModel class represents the model for the Snake game and maintains the state of the game data.
@@ -24,28 +19,42 @@ import com.jman.gamelauncher.support.BoosterPool;
  * @author Joel Lansgren
  */
 public class SnakeModel implements ISnakeBoosterTarget {
-    private final Consumer<Integer> notifySpeedHasChanged;
     private final int initialLength = AppConfigSnake.INITIAL_LENGTH;
-    private final int gridSize = AppConfigSnake.CELL_COUNT;
-    private final Deque<Point> snake = new ArrayDeque<>();
+    private final int gridSize;
+    private final SnakeBody snake;
+    private final FreeCellSet freeCells;
+    private final SnakeTickDelta tickDelta = new SnakeTickDelta();
     private Direction direction;
-    private Direction pendingDirection;
+    private final DirectionQueue directionQueue = new DirectionQueue(AppConfigSnake.DIRECTION_QUEUE_CAPACITY);
+    private final InputLatencyTracker inputLatency = new InputLatencyTracker();
     private boolean gameOver = true;
     private final AtomicBoolean speedBoosterEffect = new AtomicBoolean();
     private boolean grow;
-    private ScheduledFuture<?> speedResetTask;
-    private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "SpeedReset-Scheduler");
-    });
+    private final HashedWheelTimer timer;
+    private volatile HashedWheelTimer.Timeout speedResetTask;
     private final AtomicInteger speed = new AtomicInteger();
     private final AtomicInteger oldSpeed = new AtomicInteger();
     private final AtomicInteger newSpeed = new AtomicInteger();
 
     /**
-     * Constructs the SnakeModel and stores the callback to notify when speed have changed.
+     * Constructs the SnakeModel. The game loop reads the speed at every tick boundary through
+     * {@link #getSpeed()}, so speed changes don't have to be pushed to it.
+     * @param timer the timer of the game session, which resets the speed after a speed boost.
      */
-    public SnakeModel(final Consumer<Integer> notifySpeedHasChanged) {
-        this.notifySpeedHasChanged = notifySpeedHasChanged;
+    public SnakeModel(final HashedWheelTimer timer) {
+        this(AppConfigSnake.CELL_COUNT, timer);
+    }
+
+    /**
+     * Constructs the SnakeModel on a grid of another size than the game's, e.g. for benchmarks.
+     * @param gridSize the number of cells on each side of the grid.
+     * @param timer the timer of the game session, which resets the speed after a speed boost.
+     */
+    public SnakeModel(final int gridSize, final HashedWheelTimer timer) {
+        this.gridSize = gridSize;
+        this.timer = timer;
+        snake = new SnakeBody(gridSize);
+        freeCells = new FreeCellSet(gridSize * gridSize);
     }
 
     /*==============================
@@ -59,26 +68,31 @@ public class SnakeModel implements ISnakeBoosterTarget {
      */
     public void initializeSnakeData(final Runnable updateGameGrid) {
         // Clear the snake in case of a restart of the game so we have a clean slate.
+        for (int i = 0; i < snake.size(); i++) {
+            freeCells.release(snake.cellAt(i));
+        }
         snake.clear();
 
         // Initialize the snake's tail position.
         final int startX = gridSize / 2 - (initialLength / 2);
         final int startY = gridSize / 2;
 
-        snake.add(new Point(startX, startY)); // Add the tail position.
+        addHead(snake.toCell(startX, startY)); // Add the tail position.
 
         // Builds the body, with the y-coordinate staying the same and x increasing by 1.
         for (int i = 1; i < initialLength; i++) {
-            snake.add(new Point(startX + i, startY));
+            addHead(snake.toCell(startX + i, startY));
         }
 
-        // Defaults the directions to right.
+        // Defaults the direction to right and forgets any queued key presses.
         direction = Direction.RIGHT;
-        pendingDirection = Direction.RIGHT;
+        directionQueue.reset(direction);
+        inputLatency.reset();
         gameOver = false; // Defaults the game over state to false.
         setSpeed(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
         oldSpeed.set(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
         newSpeed.set(AppConfigSnake.SNAKE_TICK_DELAY); // Reset the speed of the snake.
+        tickDelta.markFullRedraw(); // The whole grid has changed.
 
         updateGameGrid.run(); // Update the grid with the snake.
     }
@@ -86,64 +100,101 @@ public class SnakeModel implements ISnakeBoosterTarget {
     /**
      * Method to update the position of the snake by shifting its body parts.
      *
-     * <p>The first step is to ensure that the pending direction isn't the
-     * opposite of the old direction. This is done by using the enum's ordinal
-     * method which returns the position of the constant.</p>
+     * <p>The first step is to apply the next queued direction command, one per tick,
+     * as long as it isn't the opposite of the old direction (the queue already rejects
+     * reversals, this is only a safeguard).</p>
      *
      * <p>This method also checks for collision before adding the new head based
      * on the current one, wrapping around if necessary. If collision is detected
      * proper action is taken based on what's being collided with. If all goes well
      * the tail is removed if a cherry have not been eaten.</p>
      *
+     * <p>The body is a ring buffer of cell indices, so a tick doesn't allocate anything.</p>
+     *
+     * @param tickNanos the time of the tick on the engine's clock, used to measure the input latency.
      * @param updateGameGrid a callback that updates the views game grid with the snake
      */
-    public void updateSnakeData(final Runnable updateGameGrid) {
-        final Point head = snake.peekLast();
-        int newX = head.x;
-        int newY = head.y;
-
-        if (direction.ordinal() + pendingDirection.ordinal() != 3) {
-            direction = pendingDirection;
+    public void updateSnakeData(final long tickNanos, final Runnable updateGameGrid) {
+        final int head = snake.head();
+        final int headX = snake.cellX(head);
+        final int headY = snake.cellY(head);
+        int newX = headX;
+        int newY = headY;
+
+        final Direction nextDirection = directionQueue.poll();
+        if (nextDirection != null && !nextDirection.isOpposite(direction)) {
+            direction = nextDirection;
+            inputLatency.onInputConsumed(directionQueue.getPolledEventNanos(), tickNanos);
         }
 
         switch (direction) {
-            case RIGHT -> newX = (head.x != gridSize - 1) ? head.x + 1 : 0;
-            case DOWN -> newY = (head.y != gridSize - 1) ? head.y + 1 : 0;
-            case LEFT -> newX = (head.x != 0) ? head.x - 1 : gridSize - 1;
-            case UP -> newY = (head.y != 0) ? head.y - 1 : gridSize - 1;
+            case RIGHT -> newX = (headX != gridSize - 1) ? headX + 1 : 0;
+            case DOWN -> newY = (headY != gridSize - 1) ? headY + 1 : 0;
+            case LEFT -> newX = (headX != 0) ? headX - 1 : gridSize - 1;
+            case UP -> newY = (headY != 0) ? headY - 1 : gridSize - 1;
         }
 
         // Creates the new head so we can check for collision and add it to
         // the snake if all goes well.
-        final Point newHead = new Point(newX, newY);
+        final int newHead = snake.toCell(newX, newY);
+
+        if (snake.isFull()) { // A snake that covers the whole grid can only run into itself.
+            gameOver = true;
+            return;
+        }
 
+        // Occupy the new head first: consuming a booster on it releases the booster's share of the cell,
+        // which would otherwise leave the cell free for a moment and let a booster spawn under the snake.
+        freeCells.occupy(newHead);
         checkCollision(newHead); // Check if we hit ourselves or stumble upon a booster.
 
-        snake.addLast(newHead); // Adds the new head.
+        snake.addHead(newHead); // Adds the new head, its cell is already occupied.
+        int removedTail = SnakeTickDelta.NO_CELL;
 
         if (grow) {
             grow = false; // Reset the boolean if a cherry was eaten so the snake don't continue to grow.
         } else {
-            snake.removeFirst(); // Removes the tail if a cherry wasn't eaten.
+            removedTail = removeTail(); // Removes the tail if a cherry wasn't eaten.
         }
 
+        tickDelta.set(newHead, head, removedTail); // Record the changed cells for the view.
         updateGameGrid.run();
     }
 
+    /**
+     * Adds a new head to the snake and occupies its cell so boosters won't spawn there.
+     * @param cell the cell of the new head.
+     */
+    private void addHead(final int cell) {
+        snake.addHead(cell);
+        freeCells.occupy(cell);
+    }
+
+    /**
+     * Removes the tail of the snake and releases its cell for boosters to spawn on.
+     * @return the cell of the removed tail.
+     */
+    private int removeTail() {
+        final int tail = snake.removeTail();
+        freeCells.release(tail);
+        return tail;
+    }
+
     /**
      * Checks the new head to determine if the game is over or if a booster will be consumed.
-     * @param newHead The new position of the snake's head that is being checked for collisions.
+     *
+     * <p>Self collision is a single lookup in the occupancy grid, and boosters are looked up
+     * by cell in the booster pool, so the cost doesn't grow with the length of the snake
+     * or the number of boosters.</p>
+     * @param newHead The cell of the snake's new head that is being checked for collisions.
      */
-    private void checkCollision(final Point newHead) {
-        if (snake.contains(newHead)) {
+    private void checkCollision(final int newHead) {
+        if (snake.occupies(newHead)) {
             gameOver = true;
         } else {
-            for (final Point p : BoosterPool.INSTANCE.getActiveBoosters().keySet()) {
-                if (p.equals(newHead)) {
-                    // Consume and add the booster to the placeholder
-                    BoosterPool.INSTANCE.getActiveBoosters().get(p).accept(false);
-                    break;
-                }
+            final BoosterModel booster = BoosterPool.INSTANCE.getActiveBoosterAt(newHead);
+            if (booster != null) {
+                booster.consume(false); // Consume and add the booster to the placeholder
             }
         }
     }
@@ -153,11 +204,41 @@ public class SnakeModel implements ISnakeBoosterTarget {
     ==============================*/
 
     @Override
-    public List<Point> getSnake() {
-        // Since this can be modified both by the EDT and the boosterManagers Executor we sync it.
-        synchronized (snake) {
-            return List.copyOf(snake);
-        }
+    public SnakeBody getSnake() {
+        return snake;
+    }
+
+    /**
+     * Gets the cells that changed during the last tick, so a view only has to repaint those.
+     * @return the delta of the last tick, reused between ticks.
+     */
+    public SnakeTickDelta getTickDelta() {
+        return tickDelta;
+    }
+
+    /**
+     * Gets the free cells of the grid, which the model keeps in sync with the snake's moves.
+     * Shared with the {@link BoosterPool} so boosters are only spawned on free cells.
+     * @return the free cells of the grid.
+     */
+    public FreeCellSet getFreeCells() {
+        return freeCells;
+    }
+
+    /**
+     * Gets the queue of direction commands, e.g. to read its input metrics.
+     * @return the direction queue.
+     */
+    public DirectionQueue getDirectionQueue() {
+        return directionQueue;
+    }
+
+    /**
+     * Gets the tracker that measures the latency from key presses to the frames that show them.
+     * @return the input latency tracker.
+     */
+    public InputLatencyTracker getInputLatency() {
+        return inputLatency;
     }
 
     /**
@@ -168,16 +249,26 @@ public class SnakeModel implements ISnakeBoosterTarget {
         return gameOver;
     }
 
+    /**
+     * Gets the current game tick delay.
+     * @return the delay between ticks in milliseconds.
+     */
+    public int getSpeed() {
+        return speed.get();
+    }
+
     /*====================
     * Setters
     ===================*/
 
     /**
-     * Sets the pending direction of the snake.
+     * Queues a direction change for the snake, applied at one of the coming ticks.
+     * Must only be called from the EDT, the single producer of the {@link DirectionQueue}.
      * @param direction The new direction for the snake
+     * @param keyNanos the time of the key event on the {@link System#nanoTime()} clock.
      */
-    public void setDirection(final Direction direction) {
-        pendingDirection = direction;
+    public void setDirection(final Direction direction, final long keyNanos) {
+        directionQueue.offer(direction, keyNanos);
     }
 
     @Override
@@ -206,7 +297,7 @@ public class SnakeModel implements ISnakeBoosterTarget {
             speedBoosterEffect.set(true);;
 
             // Schedule reset after 7 seconds
-            speedResetTask = scheduler.schedule(() -> {
+            speedResetTask = timer.schedule(() -> {
                 setSpeed(oldSpeed.get() - (newSpeed.get() - speed.get()));
                 speedBoosterEffect.set(false);
             }, 7, TimeUnit.SECONDS);
@@ -220,8 +311,9 @@ public class SnakeModel implements ISnakeBoosterTarget {
      * the speed boost is no longer active.
      */
     public void cancelSpeedBoost() {
-        if (speedResetTask != null && !speedResetTask.isDone()) {
-            speedResetTask.cancel(false);
+        final HashedWheelTimer.Timeout task = speedResetTask;
+        if (task != null) {
+            task.cancel();
         }
         speedBoosterEffect.set(false);
     }
@@ -232,18 +324,5 @@ public class SnakeModel implements ISnakeBoosterTarget {
      */
     private void setSpeed(final int speed) {
         this.speed.set(speed);
-        notifySpeedHasChanged.accept(this.speed.get());
-    }
-
-    /*===============================
-    * Cleanup
-    ===============================*/
-
-    /**
-     * Shuts down the scheduler when we exit the game.
-     */
-    public void shutdownScheduler() {
-        scheduler.shutdownNow();
-        scheduler = null;
     }
 }
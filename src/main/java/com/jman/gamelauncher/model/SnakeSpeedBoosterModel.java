@@ -1,7 +1,6 @@
 package com.jman.gamelauncher.model;
 
 import java.awt.Color;
-import java.awt.Point;
 import java.util.Random;
 
 import com.jman.gamelauncher.support.AppConfig;
@@ -12,7 +11,7 @@ import com.jman.gamelauncher.support.AudioManager;
  * Represents a speed booster in the game, which temporarily boosts the snake's speed when consumed.
  * This class extends {@link BoosterModel} and defines the specific behavior of a speed booster.
  *
- * <p>Upon activation, we make sure its new position isn't occupied by the snake.
+ * <p>The booster pool only activates it on free cells, so it never spawns on the snake.
  * When consumed, it triggers the {@code boostSpeed()} method on {@link ISnakeBoosterTarget}.</p>
  *
  * <p>The booster also manages its own sound effect, which is preloaded on creation
@@ -36,26 +35,9 @@ public final class SnakeSpeedBoosterModel extends BoosterModel {
         loadSoundEffect();
     }
 
-    /**
-     * {@inheritDoc}
-     *
-     * If the new booster position is occupied by the snake we do nothing.
-     * @param newPosition The position where the booster should appear.
-     */
-    @Override
-    public void activate(final Point newPosition) {
-        if (snakeTarget.getSnake().contains(newPosition)) { return; }
-        super.activate(newPosition);
-    }
-
     @Override
-    void spawnCoolDown() {
-        try {
-            Thread.sleep(randomizer.nextLong(AppConfig.BOOSTER_SPAWN_MIN_DELAY, AppConfig.BOOSTER_SPAWN_MAX_DELAY));
-        } catch (final InterruptedException e) {
-            System.out.println("interrupted");
-            Thread.currentThread().interrupt();
-        }
+    long spawnCoolDown() {
+        return randomizer.nextLong(AppConfig.BOOSTER_SPAWN_MIN_DELAY, AppConfig.BOOSTER_SPAWN_MAX_DELAY);
     }
 
     /**
@@ -68,7 +50,7 @@ public final class SnakeSpeedBoosterModel extends BoosterModel {
 
     @Override
     void loadSoundEffect() {
-        AudioManager.INSTANCE.queueSoundEffect(soundEffect);
+        AudioManager.INSTANCE.loadSoundEffect(soundEffect);
     }
 
     @Override
@@ -78,6 +60,6 @@ public final class SnakeSpeedBoosterModel extends BoosterModel {
 
     @Override
     public Color getBoosterColor() {
-        return new Color(color.getRGB());
+        return color; // Colors are immutable so the same instance can be shared with the view.
     }
 }
@@ -0,0 +1,84 @@
+package com.jman.gamelauncher.model;
+
+/**
+ * The cells that changed during the last tick of the {@link SnakeModel}.
+ *
+ * <p>A normal tick only moves the head forward, turns the old head into body and, unless the snake
+ * grew, removes the tail. Views can use this to repaint just those cells instead of the whole grid.
+ * When the snake is reinitialized the delta asks for a full redraw instead.</p>
+ *
+ * <p>The model reuses a single instance, so the values are only valid until the next tick.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class SnakeTickDelta {
+    /** The value used for a cell that didn't change. */
+    public static final int NO_CELL = -1;
+    private boolean fullRedraw = true;
+    private int head = NO_CELL;
+    private int previousHead = NO_CELL;
+    private int removedTail = NO_CELL;
+
+    /*==============================
+    * Setters
+    ==============================*/
+
+    /**
+     * Marks that the whole grid must be redrawn, e.g. after a restart.
+     */
+    void markFullRedraw() {
+        fullRedraw = true;
+        head = NO_CELL;
+        previousHead = NO_CELL;
+        removedTail = NO_CELL;
+    }
+
+    /**
+     * Records the cells that changed during a tick.
+     * @param head the cell of the new head.
+     * @param previousHead the cell of the old head, which is now body.
+     * @param removedTail the cell of the removed tail or {@link #NO_CELL} if the snake grew.
+     */
+    void set(final int head, final int previousHead, final int removedTail) {
+        fullRedraw = false;
+        this.head = head;
+        this.previousHead = previousHead;
+        this.removedTail = removedTail;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Checks if the whole grid must be redrawn.
+     * @return {@code true} if the snake was reinitialized since the last tick.
+     */
+    public boolean isFullRedraw() {
+        return fullRedraw;
+    }
+
+    /**
+     * Gets the cell of the new head.
+     * @return the cell index.
+     */
+    public int getHead() {
+        return head;
+    }
+
+    /**
+     * Gets the cell of the old head, which is now part of the body.
+     * @return the cell index.
+     */
+    public int getPreviousHead() {
+        return previousHead;
+    }
+
+    /**
+     * Gets the cell of the tail that was removed.
+     * @return the cell index, or {@link #NO_CELL} if the snake grew.
+     */
+    public int getRemovedTail() {
+        return removedTail;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jman.gamelauncher.support;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the boosters that are active on the grid, holding their cells and colors.
+ *
+ * <p>The {@link BoosterPool} publishes a new snapshot whenever a booster activated or was consumed and
+ * returned, so the render path only has to read one reference per frame instead of collecting the
+ * data from every booster. Each new snapshot is derived from the previous one by adding or removing
+ * a single booster, so publishing costs a copy of the active boosters, not a pass over all of them.
+ * The order of the boosters in a snapshot is unspecified.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class ActiveBoosterSnapshot {
+    /** A snapshot without any active boosters. */
+    public static final ActiveBoosterSnapshot EMPTY = new ActiveBoosterSnapshot(new int[0], new Color[0]);
+    private final int[] cells;
+    private final Color[] colors;
+
+    /**
+     * Constructs a snapshot. The arrays are owned by the snapshot and must not be modified afterwards.
+     * @param cells the row-major cell index of each active booster.
+     * @param colors the color of each active booster.
+     */
+    ActiveBoosterSnapshot(final int[] cells, final Color[] colors) {
+        this.cells = cells;
+        this.colors = colors;
+    }
+
+    /*==============================
+    * Derived Snapshots
+    ==============================*/
+
+    /**
+     * Derives a snapshot with a booster on a cell, replacing the one that was on it, if any.
+     * @param cell the row-major cell index of the booster.
+     * @param color the color of the booster.
+     * @return a new snapshot holding this one's boosters and the given one.
+     */
+    ActiveBoosterSnapshot with(final int cell, final Color color) {
+        final int index = indexOf(cell);
+        if (index < cells.length) {
+            final Color[] replacedColors = colors.clone();
+            replacedColors[index] = color;
+            return new ActiveBoosterSnapshot(cells, replacedColors);
+        }
+
+        final int[] addedCells = Arrays.copyOf(cells, cells.length + 1);
+        final Color[] addedColors = Arrays.copyOf(colors, colors.length + 1);
+        addedCells[cells.length] = cell;
+        addedColors[colors.length] = color;
+
+        return new ActiveBoosterSnapshot(addedCells, addedColors);
+    }
+
+    /**
+     * Derives a snapshot without the booster on a cell. The last booster takes the removed one's place.
+     * The result is a new snapshot even if no booster was on the cell, so whoever publishes snapshots
+     * with a compare-and-set can tell that a snapshot was derived after theirs.
+     * @param cell the row-major cell index of the booster to remove.
+     * @return a new snapshot without the booster.
+     */
+    ActiveBoosterSnapshot without(final int cell) {
+        final int index = indexOf(cell);
+        if (index == cells.length) { return new ActiveBoosterSnapshot(cells, colors); }
+
+        final int last = cells.length - 1;
+        final int[] remainingCells = Arrays.copyOf(cells, last);
+        final Color[] remainingColors = Arrays.copyOf(colors, last);
+        if (index < last) {
+            remainingCells[index] = cells[last];
+            remainingColors[index] = colors[last];
+        }
+
+        return new ActiveBoosterSnapshot(remainingCells, remainingColors);
+    }
+
+    /**
+     * Finds the booster on a cell.
+     * @param cell the row-major cell index.
+     * @return the booster's index in the snapshot, or the size of the snapshot if no booster is on the cell.
+     */
+    private int indexOf(final int cell) {
+        int index = 0;
+        while (index < cells.length && cells[index] != cell) { index++; }
+        return index;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the number of active boosters.
+     * @return the number of boosters in the snapshot.
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Gets the cell of an active booster.
+     * @param index the booster's index in the snapshot.
+     * @return the row-major cell index of the booster.
+     */
+    public int cellAt(final int index) {
+        return cells[index];
+    }
+
+    /**
+     * Gets the color of an active booster.
+     * @param index the booster's index in the snapshot.
+     * @return the color of the booster.
+     */
+    public Color colorAt(final int index) {
+        return colors[index];
+    }
+}
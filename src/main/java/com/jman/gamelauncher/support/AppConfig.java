@@ -38,12 +38,6 @@ public final class AppConfig {
     /** Path to sounds in the resources folder. */
     public static final String PATH_TO_SOUNDS = "/sounds/";
 
-    /** A silent sound to keep the audio responsive. */
-    public static final String SOUND_EFFECT_SILENCE = "keep_alive.wav";
-
-    /** A silent sound to keep the audio responsive. */
-    public static final String SOUND_EFFECTS_LOADED = "LOADED";
-
     /* =========================
     * Numbers
     ========================= */
@@ -54,6 +48,21 @@ public final class AppConfig {
     /** A Delay for how often to spawn boosters in milliseconds. */
     public static final int BOOSTER_SPAWN_MIN_DELAY = 1000;
 
+    /** The sample rate the audio mixer plays at, sound effects are converted to it when loaded. */
+    public static final float AUDIO_SAMPLE_RATE = 44100f;
+
+    /** The number of frames the audio mixer mixes at a time, about 6 ms at 44.1 kHz. */
+    public static final int AUDIO_MIX_FRAMES = 256;
+
+    /** The size of the audio line's buffer in frames, which bounds the playback latency to about 23 ms. */
+    public static final int AUDIO_LINE_FRAMES = 1024;
+
+    /** The maximum number of sound effects the mixer plays at the same time. */
+    public static final int AUDIO_MAX_VOICES = 16;
+
+    /** The maximum size of the decoded sound effects kept between game sessions, in bytes. */
+    public static final long AUDIO_CACHE_MAX_BYTES = 16L * 1024 * 1024;
+
     /* =========================
     * Fonts
     ========================= */
@@ -46,6 +46,15 @@ public final class AppConfigLauncher {
     /** Name of the game view for the card layout in the launcher. */
     public static final String SELECTED_GAME = "SelectedGame";
 
+    /** The resource path of the asset pack holding the pre-decoded sounds. */
+    public static final String ASSET_PACK = "/assets.pack";
+
+    /** The sound effects of all games, decoded while the launcher starts. */
+    public static final String[] PRELOADED_SOUNDS = {
+        AppConfigSnake.SOUND_EFFECT_CHERRY,
+        AppConfigSnake.SOUND_EFFECT_SPEED
+    };
+
     /* =========================
     * Numbers
     ========================= */
@@ -53,6 +62,9 @@ public final class AppConfigLauncher {
     /** Scroll speed multiplier for setting the mouse scrolling a little bit faster in the scroll pane. */
     public static final int SCROLL_SPEED_MULTIPLIER = 20;
 
+    /** The maximum number of threads decoding assets in parallel while the launcher starts. */
+    public static final int PRELOAD_THREADS = 4;
+
     /* =========================
     * Dimensions
     ========================= */
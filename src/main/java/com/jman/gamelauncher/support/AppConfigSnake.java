@@ -6,6 +6,8 @@ import java.awt.Dimension;
 import javax.swing.BorderFactory;
 import javax.swing.border.Border;
 
+import com.jman.gamelauncher.model.BoosterRuntime;
+
 /**
  * A utility class that provides configuration constants
  * and settings for the Snake game.
@@ -21,6 +23,31 @@ public final class AppConfigSnake {
     // Prevent instantiation
     private AppConfigSnake() { throw new IllegalStateException("Utility class"); }
 
+    /* =========================
+    * Settings
+    ========================= */
+
+    /** The runtime that drives the boosters' lifecycle. */
+    public static final BoosterRuntime BOOSTER_RUNTIME = BoosterRuntime.SCHEDULED;
+
+    /** The length of a tick of the session timer in milliseconds, which is the resolution of all game timers. */
+    public static final int SESSION_TIMER_TICK_MILLIS = 10;
+
+    /** The number of buckets in the session timer's wheel, a power of two. One turn covers about 5 seconds. */
+    public static final int SESSION_TIMER_WHEEL_SIZE = 512;
+
+    /**
+     * Whether the game grid is rendered by a dedicated render loop instead of Swing's repaint path.
+     * The loop paces the frames and the EDT paints them, with the snake's motion interpolated.
+     */
+    public static final boolean ACTIVE_RENDERING = true;
+
+    /** The frame rate the active render loop aims for, 0 means the display's refresh rate. */
+    public static final int ACTIVE_RENDERING_FPS = 0;
+
+    /** How many key presses can be queued up between two ticks. */
+    public static final int DIRECTION_QUEUE_CAPACITY = 4;
+
     /* =========================
     * Strings
     ========================= */
@@ -54,8 +81,11 @@ public final class AppConfigSnake {
      */
     public static final int GRID_DIMENSION = 600;
 
+    /** Size of each cell in the grid in pixels. */
+    public static final int CELL_SIZE = 20;
+
     /** Number of cells in the grid. */
-    public static final int CELL_COUNT = GRID_DIMENSION / 20;
+    public static final int CELL_COUNT = GRID_DIMENSION / CELL_SIZE;
 
     /** Initial length of the snake. */
     public static final int INITIAL_LENGTH = 15;
@@ -0,0 +1,84 @@
+package com.jman.gamelauncher.support;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * Decodes the launcher's asset files into the form they're used in at runtime.
+ *
+ * <p>Sounds become interleaved 16-bit stereo PCM samples in the mixer's format. The same decoding
+ * is used when the asset pack is built and when an asset has to be loaded from its own resource
+ * file, so both give identical results.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class AssetDecoder {
+    /** The format the audio mixer plays, 16-bit little-endian stereo PCM. */
+    public static final AudioFormat PCM_FORMAT = new AudioFormat(AppConfig.AUDIO_SAMPLE_RATE, 16, 2, true, false);
+
+    // Prevent instantiation
+    private AssetDecoder() { throw new IllegalStateException("Utility class"); }
+
+    /*==============================
+    * Resources
+    ==============================*/
+
+    /**
+     * Opens a resource from the classpath.
+     *
+     * <p>The getClass().getResourceAsStream() is essential to ensure that the files can be
+     * properly accessed and loaded from within a JAR file.</p>
+     * @param path the absolute resource path.
+     * @return a buffered stream of the resource.
+     * @throws IOException if the resource doesn't exist.
+     */
+    public static InputStream openResource(final String path) throws IOException {
+        final InputStream is = AssetDecoder.class.getResourceAsStream(path);
+        if (is == null) { throw new IOException("Missing resource " + path); }
+
+        return new BufferedInputStream(is);
+    }
+
+    /*==============================
+    * Decoders
+    ==============================*/
+
+    /**
+     * Decodes a sound file, converting it to 16-bit little-endian PCM at the mixer's sample rate.
+     * Mono sounds are copied to both channels.
+     * @param is the stream of the sound file.
+     * @return the interleaved stereo samples.
+     * @throws Exception if the sound can't be read or converted.
+     */
+    public static short[] decodePcm(final InputStream is) throws Exception {
+        final int channels = PCM_FORMAT.getChannels();
+        final AudioInputStream sourceStream = AudioSystem.getAudioInputStream(is);
+        final int sourceChannels = Math.min(channels, sourceStream.getFormat().getChannels());
+        final AudioFormat pcmFormat = new AudioFormat(PCM_FORMAT.getSampleRate(), 16, sourceChannels, true, false);
+        final byte[] bytes;
+
+        try (AudioInputStream pcmStream = AudioSystem.getAudioInputStream(pcmFormat, sourceStream);
+            ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            pcmStream.transferTo(out);
+            bytes = out.toByteArray();
+        }
+
+        final int frames = bytes.length / (2 * sourceChannels);
+        final short[] samples = new short[frames * channels];
+
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < channels; channel++) {
+                final int offset = (frame * sourceChannels + Math.min(channel, sourceChannels - 1)) * 2;
+                samples[frame * channels + channel] = (short) ((bytes[offset] & 0xFF) | (bytes[offset + 1] << 8));
+            }
+        }
+
+        return samples;
+    }
+}
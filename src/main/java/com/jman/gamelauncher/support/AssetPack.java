@@ -0,0 +1,153 @@
+package com.jman.gamelauncher.support;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Singleton giving access to the asset pack, a single file with every preloaded sound pre-decoded.
+ *
+ * <p>The pack is written at build time by the {@link AssetPackWriter} and is laid out as:</p>
+ * <ul>
+ *   <li>a header: the magic number {@code "GLAP"}, the format version and the number of entries.</li>
+ *   <li>an index with one entry per asset: its resource path in modified UTF-8, its type, and the
+ *   offset and length of its data in the file.</li>
+ *   <li>the data: big-endian 16-bit stereo PCM samples for sounds.</li>
+ * </ul>
+ *
+ * <p>So a cold start touches one resource instead of one per asset, and nothing is decoded at
+ * runtime. When the launcher runs from the class directory the pack is memory-mapped with a
+ * {@link FileChannel}; inside a jar it's read with one sequential read. Lookups by name go through
+ * the index. The pack is opened the first time an asset is asked for. If it's missing or unreadable,
+ * e.g. when running from an IDE that skipped the Maven build, every lookup returns {@code null} and
+ * the callers decode the asset from its own resource file instead.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum AssetPack {
+    INSTANCE;
+    /** The magic number starting every pack, {@code "GLAP"} in ASCII. */
+    static final int MAGIC = 0x474C4150;
+    /** The version of the pack format. */
+    static final int VERSION = 2;
+    /** The size of the header: magic number, version and entry count. */
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+    /** The size of an index entry, excluding its name: type, offset and length. */
+    static final int INDEX_ENTRY_BYTES = 1 + Long.BYTES + Integer.BYTES;
+    /** The type of an entry holding PCM samples. */
+    static final byte TYPE_PCM = 0;
+
+    /**
+     * Where an asset is found in the pack.
+     * @param type the type of the asset.
+     * @param offset the offset of the data in the pack.
+     * @param length the length of the data in bytes.
+     */
+    private record IndexEntry(byte type, int offset, int length) { }
+
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private ByteBuffer pack;
+    private boolean isOpened;
+
+    /*==============================
+    * Lookups
+    ==============================*/
+
+    /**
+     * Gets the decoded samples of a sound.
+     * @param path the resource path of the sound file.
+     * @return the interleaved stereo samples, or {@code null} if the sound isn't in the pack.
+     */
+    public short[] getSound(final String path) {
+        final ByteBuffer data = getData(path, TYPE_PCM);
+        if (data == null) { return null; }
+
+        final short[] samples = new short[data.remaining() / Short.BYTES];
+        data.asShortBuffer().get(samples);
+        return samples;
+    }
+
+    /**
+     * Looks up the data of an asset in the index.
+     * @param path the resource path of the asset.
+     * @param type the expected type of the asset.
+     * @return a buffer holding only the asset's data, or {@code null} if it isn't in the pack.
+     */
+    private synchronized ByteBuffer getData(final String path, final byte type) {
+        open();
+
+        final IndexEntry entry = index.get(path);
+        if (entry == null || entry.type() != type) { return null; }
+
+        return pack.slice(entry.offset(), entry.length());
+    }
+
+    /*==============================
+    * Loading
+    ==============================*/
+
+    /**
+     * Opens the pack and reads its index, unless that's been tried already.
+     */
+    private void open() {
+        if (isOpened) { return; }
+        isOpened = true;
+
+        final URL url = getClass().getResource(AppConfigLauncher.ASSET_PACK);
+        if (url == null) { return; } // No pack, every asset is decoded from its own file.
+
+        try {
+            final ByteBuffer buffer = read(url);
+            readIndex(buffer);
+            pack = buffer;
+        } catch (final Exception e) {
+            index.clear();
+            DebugLogger.INSTANCE.logException(e);
+        }
+    }
+
+    /**
+     * Reads the whole pack, mapping it if it's a file on disk.
+     * @param url the location of the pack.
+     * @return the pack's bytes.
+     * @throws Exception if the pack can't be read.
+     */
+    private static ByteBuffer read(final URL url) throws Exception {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        try (InputStream is = url.openStream()) {
+            return ByteBuffer.wrap(is.readAllBytes());
+        }
+    }
+
+    /**
+     * Reads the header and the index of the pack.
+     * @param buffer the pack's bytes.
+     * @throws IllegalStateException if the pack isn't a pack of this version.
+     */
+    private void readIndex(final ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("Unsupported asset pack " + AppConfigLauncher.ASSET_PACK);
+        }
+
+        final int entries = buffer.getInt();
+        for (int i = 0; i < entries; i++) {
+            final byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(name);
+            // The paths are plain ASCII, where modified UTF-8 and UTF-8 are the same.
+            index.put(new String(name, StandardCharsets.UTF_8), new IndexEntry(
+                buffer.get(), Math.toIntExact(buffer.getLong()), buffer.getInt()
+            ));
+        }
+    }
+}
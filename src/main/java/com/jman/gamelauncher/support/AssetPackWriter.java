@@ -0,0 +1,103 @@
+package com.jman.gamelauncher.support;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link AssetPack} file at build time.
+ *
+ * <p>Maven runs this class in the {@code process-classes} phase, after the resources have been
+ * copied, and writes the pack next to them so it ends up in the jar. Every preloaded sound
+ * is decoded with the {@link AssetDecoder}, exactly like at runtime, and stored pre-decoded after a
+ * header index, as described in {@link AssetPack}.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class AssetPackWriter {
+    // Prevent instantiation
+    private AssetPackWriter() { throw new IllegalStateException("Utility class"); }
+
+    /**
+     * A decoded asset waiting to be written.
+     * @param name the resource path of the asset.
+     * @param type the type of the asset, {@link AssetPack#TYPE_PCM}.
+     * @param data the decoded data.
+     */
+    private record Entry(String name, byte type, byte[] data) { }
+
+    /**
+     * Writes the asset pack.
+     * @param args the path of the pack file to write.
+     * @throws Exception if an asset can't be decoded or the pack can't be written.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: AssetPackWriter <output file>");
+        }
+
+        final List<Entry> entries = new ArrayList<>();
+
+        for (final String sound : AppConfigLauncher.PRELOADED_SOUNDS) {
+            final String name = AppConfig.PATH_TO_SOUNDS + sound;
+            try (InputStream is = AssetDecoder.openResource(name)) {
+                final short[] samples = AssetDecoder.decodePcm(is);
+                final ByteBuffer data = ByteBuffer.allocate(samples.length * Short.BYTES);
+                data.asShortBuffer().put(samples);
+                entries.add(new Entry(name, AssetPack.TYPE_PCM, data.array()));
+            }
+        }
+
+        final Path output = Path.of(args[0]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(output))) {
+            write(entries, os);
+        }
+
+        System.out.println("Wrote " + entries.size() + " assets to " + output);
+    }
+
+    /**
+     * Writes the header, the index and the data of all entries.
+     * @param entries the decoded assets.
+     * @param os the stream to write to.
+     * @throws IOException if writing fails.
+     */
+    private static void write(final List<Entry> entries, final OutputStream os) throws IOException {
+        // The names are encoded first, since the data offsets depend on the size of the index.
+        final ByteArrayOutputStream names = new ByteArrayOutputStream();
+        final DataOutputStream nameOut = new DataOutputStream(names);
+        for (final Entry entry : entries) {
+            nameOut.writeUTF(entry.name());
+        }
+
+        final DataOutputStream out = new DataOutputStream(os);
+        long offset = AssetPack.HEADER_BYTES + names.size() + (long) entries.size() * AssetPack.INDEX_ENTRY_BYTES;
+
+        out.writeInt(AssetPack.MAGIC);
+        out.writeInt(AssetPack.VERSION);
+        out.writeInt(entries.size());
+
+        for (final Entry entry : entries) {
+            out.writeUTF(entry.name());
+            out.writeByte(entry.type());
+            out.writeLong(offset);
+            out.writeInt(entry.data().length);
+            offset += entry.data().length;
+        }
+
+        for (final Entry entry : entries) {
+            out.write(entry.data());
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,94 @@
+package com.jman.gamelauncher.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton that decodes the launcher's assets in parallel while the launcher starts.
+ *
+ * <p>The sound effects of all games are decoded on a bounded thread pool while the frame is being
+ * built, so they're ready before the user clicks a game. Sounds go through the {@link AudioManager},
+ * which caches them for the whole session, so when a game later asks for a sound it's either cached
+ * already or shares the preloader's pending load. They're read from the {@link AssetPack} when it's
+ * available, which leaves little to decode.</p>
+ *
+ * <p>A progress listener is told about every decoded asset. When everything is loaded the wall
+ * time is compared with the summed decode time of all assets, which is roughly what loading them
+ * one at a time would have taken, and both are logged in debug mode once the pool has terminated,
+ * so the decode time of every asset is included.</p>
+ *
+ * @author Joel Lansgren
+ */
+public enum AssetPreloader {
+    INSTANCE;
+    private CompletableFuture<Void> preload;
+
+    /**
+     * Starts preloading all assets, unless it has been started already.
+     * @param progressListener is told about every asset that has been preloaded.
+     * @return a future that completes when every asset has been preloaded, or failed to.
+     */
+    public synchronized CompletableFuture<Void> start(final IPreloadProgressListener progressListener) {
+        if (preload != null) { return preload; }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final AtomicLong decodeNanos = new AtomicLong();
+        final AtomicLong preloadNanos = new AtomicLong();
+        final int total = AppConfigLauncher.PRELOADED_SOUNDS.length;
+        final ExecutorService pool = new ThreadPoolExecutor(
+            AppConfigLauncher.PRELOAD_THREADS, AppConfigLauncher.PRELOAD_THREADS,
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                final Thread thread = new Thread(r, "AssetPreloader-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        ) {
+            /**
+             * Logs the times once the last task has returned. A load completes from inside its task,
+             * so the preload is done before the decode time of the last asset has been added.
+             */
+            @Override
+            protected void terminated() {
+                if (AppConfigLauncher.DEBUG_MODE) {
+                    DebugLogger.INSTANCE.logInfo(String.format(
+                        "Preloaded %d assets in %.1f ms on %d threads (%.1f ms of decoding one at a time)",
+                        total, preloadNanos.get() / 1_000_000.0, AppConfigLauncher.PRELOAD_THREADS,
+                        decodeNanos.get() / 1_000_000.0
+                    ));
+                }
+            }
+        };
+        final Executor timedPool = task -> pool.execute(() -> {
+            final long start = System.nanoTime();
+            task.run();
+            decodeNanos.addAndGet(System.nanoTime() - start);
+        });
+
+        final AtomicInteger loaded = new AtomicInteger();
+        final List<CompletableFuture<Void>> loads = new ArrayList<>(total);
+        final long startNanos = System.nanoTime();
+
+        for (final String sound : AppConfigLauncher.PRELOADED_SOUNDS) {
+            loads.add(AudioManager.INSTANCE.loadSoundEffect(sound, timedPool).thenRun(() -> {
+                progressListener.onAssetLoaded(AppConfig.PATH_TO_SOUNDS + sound, loaded.incrementAndGet(), total);
+            }));
+        }
+
+        preload = CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).whenComplete((ignored, e) -> {
+            preloadNanos.set(System.nanoTime() - startNanos);
+            pool.shutdown(); // The times are logged when the pool has terminated.
+        });
+
+        return preload;
+    }
+}
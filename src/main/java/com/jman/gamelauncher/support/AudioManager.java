@@ -1,132 +1,121 @@
 package com.jman.gamelauncher.support;
 
-import java.io.BufferedInputStream;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CountDownLatch;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
+import javax.sound.sampled.SourceDataLine;
 
 /**
  * Singleton class for managing audio playback within the application.
- * This class handles loading, playing, and managing sound effects by implementing
- * the Producer/Consumer pattern, offloading the actual preloading of sounds to a
- * background thread so the clients can return to doing their thing, ensuring that
- * audio resources are ready for playback once needed.
+ * This class handles loading, playing, and managing sound effects, offloading the
+ * actual preloading of sounds to a background thread and handing the clients a
+ * {@link CompletableFuture}, so they can return to doing their thing and never
+ * have to wait for audio resources to be ready.
  *
  * <p>The audio manager uses a singleton pattern to provide a single instance
- * for sound management throughout the application lifecycle. It supports pre
- * loading of sound effects and keeps audio active to prevent playback issues.</p>
+ * for sound management throughout the application lifecycle.</p>
+ *
+ * <p>Playback goes through a software mixer. Every sound effect is decoded once into 16-bit stereo
+ * PCM, kept in a {@link PcmCache} for the whole lifetime of the launcher, and a mixer thread that
+ * owns a single {@link SourceDataLine} adds up all voices that are playing into a small buffer and
+ * writes it to the line. The same effect can therefore
+ * overlap itself instead of being cut off, only one native line is used no matter how many effects
+ * are loaded, and the latency is bounded by the line's small buffer. When nothing plays the mixer
+ * writes silence, which keeps the audio device awake. Sounds are only handed to the mixer while it
+ * has a line open, so if no audio device is available, or no game session is running, the manager
+ * still loads sounds, but playback does nothing.</p>
+ *
+ * <p>The preloaded sounds are already decoded in the {@link AssetPack}, so loading them is a copy
+ * out of the pack; any other sound is decoded from its own file.</p>
  *
  * @author Joel Lansgren
  */
 public enum AudioManager {
     INSTANCE;
-    private final Map<String, Clip> soundEffects = new HashMap<>();
-    private final BlockingQueue<String> soundEffectQueue = new LinkedBlockingQueue<>();
-    private final Thread soundConsumerThread = new SoundConsumer("SoundConsumer");
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "AudioManager-Scheduler");
+    private static final AudioFormat MIX_FORMAT = AssetDecoder.PCM_FORMAT;
+    private static final int CHANNELS = MIX_FORMAT.getChannels();
+    private final PcmCache soundEffects = new PcmCache(AppConfig.AUDIO_CACHE_MAX_BYTES);
+    private final Map<String, CompletableFuture<Void>> pendingLoads = new ConcurrentHashMap<>();
+    private final ExecutorService soundLoader = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "SoundLoader");
+        thread.setDaemon(true);
+        return thread;
     });
-    private final Clip silence = loadSound(AppConfig.SOUND_EFFECT_SILENCE);
-    private final AtomicBoolean isSoundLoaded = new AtomicBoolean();
-    private CountDownLatch latch = new CountDownLatch(1);
+    private final Queue<Voice> startedVoices = new ConcurrentLinkedQueue<>();
+    private Mixer mixer;
+    private volatile boolean isMixing;
 
-    /** Constructs the AudioManager and start up the consumer thread that is in charge of preloading sounds. */
-    private AudioManager() {
-        soundConsumerThread.start();
+    /**
+     * Loads a sound effect in the background so it's ready for playback when needed.
+     *
+     * <p>Nothing ever waits for the sound to load: the returned future completes once it's
+     * in the cache, and until then {@link #playSoundEffect(String)} simply skips it. Sounds that
+     * are cached from an earlier game session complete right away, and asking for a sound that
+     * is already loading returns the same future.</p>
+     * @param soundEffect The last part of the path to the sound-file.
+     * @return a future that completes when the sound has been loaded, or failed to load.
+     */
+    public CompletableFuture<Void> loadSoundEffect(final String soundEffect) {
+        return loadSoundEffect(soundEffect, soundLoader);
     }
 
     /**
-     * This is the Consumer in the Consumer/Producer pattern.
-     *
-     * <p>It simply removes a sound from the queue if one is
-     * available and adds it to the map for later retrieval
-     * and playback by threads, when a end string is recognized it means
-     * all sound files have been loaded and the consumer sets the isSoundLoaded
-     * boolean to true to signal game threads they can play sounds and countdown
-     * the latch to release the EDT so it can continue and display the game, otherwise
-     * it patiently waits until the application is shutdown.</p>
-     *
-     * @author Joel Lansgren
+     * Loads a sound effect in the background on the given executor, e.g. a preloader's thread pool.
+     * @param soundEffect The last part of the path to the sound-file.
+     * @param executor the executor that decodes the sound.
+     * @return a future that completes when the sound has been loaded, or failed to load.
+     * @see #loadSoundEffect(String)
      */
-    private class SoundConsumer extends Thread {
+    public CompletableFuture<Void> loadSoundEffect(final String soundEffect, final Executor executor) {
+        if (soundEffects.contains(soundEffect)) { return CompletableFuture.completedFuture(null); }
 
-        private SoundConsumer(String name) { super(name); }
+        final CompletableFuture<Void> load = new CompletableFuture<>();
+        final CompletableFuture<Void> pendingLoad = pendingLoads.putIfAbsent(soundEffect, load);
+        if (pendingLoad != null) { return pendingLoad; }
 
-        @Override
-        public void run() {
+        executor.execute(() -> {
             try {
-                while (true) {
-                    final String soundEffect = soundEffectQueue.take(); // Blocking call: waits if queue is empty.
-
-                    if (soundEffect.equals(AppConfig.SOUND_EFFECTS_LOADED)) {
-                        isSoundLoaded.set(true); // A signal to game threads they can playback sound effects
-                        latch.countDown();  // Count down the latch and releases the EDT if it's waiting.
-                    } else {
-                        soundEffects.put(soundEffect, loadSound(soundEffect));
-                    }
-                }
-            } catch (final InterruptedException e) {
-                Thread.currentThread().interrupt();
+                final short[] samples = loadSound(soundEffect);
+                if (samples != null) { soundEffects.put(soundEffect, samples); }
+            } finally {
+                pendingLoads.remove(soundEffect, load);
+                load.complete(null);
             }
-        }
+        });
+
+        return load;
     }
 
     /**
-     * This method allows clients (producers) to add a sound to the queue to be consumed by the soundConsumerThread.
-     * The thread then preloads the sound so its ready for playback when needed.
-     *
-     * <p> When all sounds have been loaded from the client's side, an end string will be provided.
-     * this is used to coordinate complete loading before letting the client move on and
-     * display the game.</p>
-     * @param soundEffect The last part of the path to the sound-file.
+     * Starts the audio playback for a game session, unless it's running already.
      */
-    public void queueSoundEffect(final String soundEffect) {
-        if (isSoundLoaded.get()) { return; } // Early return if sound is loaded.
-
-        try {
-            soundEffectQueue.put(soundEffect); // Blocking call: waits if another thread is accessing the queue.
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        if (soundEffect.equals(AppConfig.SOUND_EFFECTS_LOADED)) {
-            while (!isSoundLoaded.get()) {
-                try {
-                    latch.await();
-                } catch (final InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
+    public void startAudio() {
+        startMixer();
     }
 
     /**
-     * Loads a sound file and returns a Clip object representing the audio.
+     * Loads the PCM samples of a sound, from the {@link AssetPack} if it's there, otherwise by
+     * decoding the sound file into the mixer's format.
      * @param soundFile the last part of the path to the sound file to be loaded
-     * @return a Clip object containing the loaded sound, or null if an error occurs
+     * @return the interleaved stereo samples of the sound, or null if an error occurs
      */
-    private Clip loadSound(final String soundFile) {
-        // The getClass().getResourceAsStream() is essential to ensure that sound files can be
-        // properly accessed and loaded from within a JAR file, the BufferedInputStream provides
-        // smoother playback for reacuring sounds.
-        try (InputStream is = new BufferedInputStream(
-            getClass().getResourceAsStream(AppConfig.PATH_TO_SOUNDS + soundFile)
-        )) {
-            final AudioInputStream audioStream = AudioSystem.getAudioInputStream(is);
-            final Clip clip = AudioSystem.getClip();
-            clip.open(audioStream); // Make the clip available for playback.
-            return clip;
+    private short[] loadSound(final String soundFile) {
+        final String path = AppConfig.PATH_TO_SOUNDS + soundFile;
+        final short[] packed = AssetPack.INSTANCE.getSound(path);
+        if (packed != null) { return packed; }
+
+        try (InputStream is = AssetDecoder.openResource(path)) {
+            return AssetDecoder.decodePcm(is);
         } catch (final Exception e) {
             DebugLogger.INSTANCE.logException(e);
         }
@@ -134,32 +123,156 @@ public enum AudioManager {
     }
 
     /**
-     * Plays a specified pre loaded sound effect.
+     * Plays a specified pre loaded sound effect. The sound is handed to the mixer as a new voice,
+     * so it plays on top of any sound that is already playing, even itself. A sound that hasn't
+     * finished loading yet is skipped, and so is every sound while the mixer isn't running,
+     * since no one would take the voice off the queue.
      * @param soundEffect the key identifying the sound effect to be played
      */
     public void playSoundEffect(final String soundEffect) {
-        playSoundEffect(soundEffects.get(soundEffect));
+        final short[] samples = soundEffects.get(soundEffect);
+
+        if (samples != null && isMixing) {
+            startedVoices.offer(new Voice(samples));
+        }
+    }
+
+    /*==============================
+    * Mixer
+    ==============================*/
+
+    /**
+     * A sound effect that is playing, with the position of the next sample to mix.
+     *
+     * @author Joel Lansgren
+     */
+    private static final class Voice {
+        private final short[] samples;
+        private int position;
+
+        private Voice(final short[] samples) { this.samples = samples; }
     }
 
     /**
-     * Keeps the audio system alive by periodically playing a silent sound.
-     * This is useful for preventing issues with sound playback in some environments.
-     * This scheduler is alive the entirety of the launchers lifecycle while clips
-     * concerning games are shutdown by the launcher as the game is shutdown.
+     * Starts the mixer thread, unless it's running already. Every start tries to open a line
+     * again, so a device that was plugged in is picked up.
      */
-    public void keepAudioAlive() {
-        scheduler.scheduleAtFixedRate(() -> {
-            playSoundEffect(silence);
-        }, 0, 5, TimeUnit.SECONDS);
+    private synchronized void startMixer() {
+        if (mixer != null && mixer.isAlive()) { return; }
+
+        mixer = new Mixer("AudioMixer");
+        mixer.start();
     }
 
     /**
-     * Plays a given Clip object from the beginning.
-     * @param clip the Clip object representing the sound to be played
+     * Stops the mixer thread, which closes the audio line, and drops the voices that were about to play.
      */
-    private void playSoundEffect(final Clip clip) {
-        clip.setFramePosition(0); // Reset the clip to the start.
-        clip.start(); // Plays the clip.
+    private synchronized void stopMixer() {
+        if (mixer != null) {
+            mixer.running = false;
+            try {
+                mixer.join(); // Waits at most for the line's buffer to drain.
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mixer = null;
+        }
+        startedVoices.clear();
+    }
+
+    /**
+     * The mixer thread, which owns the only audio line.
+     *
+     * <p>It repeatedly adds up a buffer's worth of every playing voice, clamps the sum to the
+     * 16-bit range and writes it to the line. Writing blocks while the line's buffer is full,
+     * which paces the loop to the playback rate. New voices are picked up at the start of each
+     * buffer, so a sound starts within one mix buffer plus the line's buffer.</p>
+     *
+     * @author Joel Lansgren
+     */
+    private class Mixer extends Thread {
+        private final Voice[] voices = new Voice[AppConfig.AUDIO_MAX_VOICES];
+        private final int[] mix = new int[AppConfig.AUDIO_MIX_FRAMES * CHANNELS];
+        private final byte[] output = new byte[mix.length * 2];
+        private int voiceCount;
+        private volatile boolean running = true;
+
+        private Mixer(final String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final SourceDataLine line = openLine();
+            if (line == null) { return; }
+
+            try (line) {
+                line.start();
+                isMixing = true;
+
+                while (running) {
+                    addStartedVoices();
+                    mixVoices();
+                    line.write(output, 0, output.length); // Blocking call: waits for room in the line.
+                }
+            } finally {
+                isMixing = false;
+                startedVoices.clear();
+            }
+        }
+
+        /**
+         * Opens the audio line with a small buffer. If there's no audio device the mixer never
+         * starts mixing, so playback is skipped.
+         * @return the open line, or null if none is available.
+         */
+        private SourceDataLine openLine() {
+            try {
+                final SourceDataLine line = AudioSystem.getSourceDataLine(MIX_FORMAT);
+                line.open(MIX_FORMAT, AppConfig.AUDIO_LINE_FRAMES * MIX_FORMAT.getFrameSize());
+                return line;
+            } catch (final Exception e) {
+                DebugLogger.INSTANCE.logException(e);
+                return null;
+            }
+        }
+
+        /** Moves newly started voices into the playing voices, dropping them if all voices are busy. */
+        private void addStartedVoices() {
+            Voice voice;
+            while ((voice = startedVoices.poll()) != null) {
+                if (voiceCount < voices.length) {
+                    voices[voiceCount++] = voice;
+                }
+            }
+        }
+
+        /** Mixes the next buffer of all playing voices into the output bytes, retiring voices that ended. */
+        private void mixVoices() {
+            Arrays.fill(mix, 0);
+
+            for (int i = voiceCount - 1; i >= 0; i--) {
+                final Voice voice = voices[i];
+                final int length = Math.min(mix.length, voice.samples.length - voice.position);
+
+                for (int sample = 0; sample < length; sample++) {
+                    mix[sample] += voice.samples[voice.position + sample];
+                }
+                voice.position += length;
+
+                if (voice.position == voice.samples.length) {
+                    voices[i] = voices[--voiceCount]; // Swap the last voice into the finished one's slot.
+                    voices[voiceCount] = null;
+                }
+            }
+
+            for (int sample = 0; sample < mix.length; sample++) {
+                final int clamped = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[sample]));
+                output[sample * 2] = (byte) clamped;
+                output[sample * 2 + 1] = (byte) (clamped >> 8);
+            }
+        }
     }
 
     /*==============================
@@ -169,19 +282,16 @@ public enum AudioManager {
     /**
      * Cleans up audio resources.
      *
-     * <p>This is done by closing all loaded sound clips, clearing the sound effects map, resetting the
-     * IsSoundLoaded boolean and latch.</p>
+     * <p>This is done by stopping the mixer, which releases the native audio line. The decoded sound
+     * effects stay in the {@link PcmCache}, which lives as long as the launcher, so the next game
+     * session starts without decoding.</p>
      *
-     * <p> This method should be invoked by the {@link com.dt181g.project.controller.LauncherController}
-     * every time a game is shut down to ensure that only relevant audio resources are stored in memory.
-     * This helps prevent memory leaks and ensures that audio clips are not lingering in the system
+     * <p> This method should be invoked by the {@link com.jman.gamelauncher.controller.LauncherController}
+     * every time a game is shut down to ensure that no native audio resources linger in the system
      * after they are no longer needed.</p>
      */
     public void shutdownAudio() {
-        soundEffects.values().forEach(Clip::close);
-        soundEffects.clear();
-        isSoundLoaded.set(false);
-        latch =  new CountDownLatch(1);
+        stopMixer();
     }
 }
 
@@ -1,70 +1,108 @@
 package com.jman.gamelauncher.support;
 
-import java.awt.Color;
-import java.awt.Point;
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.jman.gamelauncher.model.BoosterModel;
+import com.jman.gamelauncher.model.BoosterRuntime;
 
 /**
  * A singleton object pool for managing the lifecycle of {@link BoosterModel}.
  * This class controls the activation and recycling of boosters used throughout different games.
  * It prevents duplicate booster positions and ensures proper synchronization.
  *
+ * <p>The pool is lock-free. Idle boosters sit in slots of an atomic array and are reserved by
+ * clearing their slot with a compare-and-set, so spawning never waits: if no booster is idle the
+ * spawn slot is skipped. Active boosters are indexed by cell in another atomic array, and every
+ * change of the index publishes a snapshot for the render path, so readers never build one. A new
+ * snapshot is derived from the published one by bringing only the changed cell in line with the
+ * index, which costs a copy of the active boosters instead of a pass over all boosters. The number
+ * of skipped spawns and of lost compare-and-sets are counted, so scaling tests can see when the pool
+ * runs dry or turns into a hot spot.</p>
+ *
+ * <p>The pool has no threads of its own: the periodic spawner, and the cool downs of boosters in the
+ * {@link BoosterRuntime#SCHEDULED} runtime, run on the {@link HashedWheelTimer} of the game session.</p>
+ *
  * <p>This is implemented as an enum singleton to guarantee thread safety.</p>
  *
  * @author Joel Lansgren
  */
 public enum BoosterPool {
     INSTANCE;
-    private final Object boosterLock = new Object();
-    private final List<BoosterModel> boosterPool = new ArrayList<>();
-    private final List<BoosterModel> boosters = new ArrayList<>();
-    private final List<Point> boosterPositions = new ArrayList<>();
-    private final Random randomizer = new Random();
-    private ScheduledFuture<?> scheduledBoosterTask;
-    private ScheduledExecutorService  scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        return new Thread(r, "BoosterActivator-Scheduler");
-    });
-    private boolean isPaused = true;
-    private int x;
-    private int y;
-    private final Runnable periodicBoosterSpawner = () -> {
-        if (!isPaused) {
-            x = randomizer.nextInt(AppConfigSnake.CELL_COUNT);
-            y = randomizer.nextInt(AppConfigSnake.CELL_COUNT);
-            Point newBoosterPosition = new Point(x, y);
-
-            if (boosterPositions.contains(newBoosterPosition)) { return; }
-
-            displayBooster(newBoosterPosition);
-        }
-    };
+    private volatile List<BoosterModel> boosters = List.of();
+    private volatile AtomicReferenceArray<BoosterModel> idleBoosters = new AtomicReferenceArray<>(0);
+    private volatile Map<BoosterModel, Integer> idleSlots = Map.of();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private FreeCellSet freeCells = new FreeCellSet(AppConfigSnake.CELL_COUNT * AppConfigSnake.CELL_COUNT);
+    private volatile AtomicReferenceArray<BoosterModel> activeBoosterCells = new AtomicReferenceArray<>(
+        AppConfigSnake.CELL_COUNT * AppConfigSnake.CELL_COUNT
+    );
+    private final AtomicReference<ActiveBoosterSnapshot> activeBoosterSnapshot = new AtomicReference<>(
+        ActiveBoosterSnapshot.EMPTY
+    );
+    private HashedWheelTimer timer;
+    private HashedWheelTimer.Timeout scheduledBoosterTask;
+    private volatile boolean isPaused = true;
+    private final LongAdder skippedSpawns = new LongAdder();
+    private final LongAdder acquireContention = new LongAdder();
+    private final Runnable periodicBoosterSpawner = this::spawnBooster;
 
     /**
      * Initializes the booster pool with available boosters and sets a return method so they
-     * can return themselves to the pool. It also add the boosters to another booster list
-     * that will be used to deal provide active stats during runtime. After that it starts a
-     * method to schedule booster activation with a random delay.
+     * can return themselves to the pool, an activated method so they can be indexed by
+     * their cell once they appear on the grid and the runtime that drives their cool downs. Every booster
+     * gets its own slot among the idle boosters, which it occupies whenever it's in the pool. After that it
+     * starts a method to schedule booster activation with a random delay.
      * This method should only be called once per game instantiation.
      * @param boosters The list of booster instances to be managed.
+     * @param freeCells The free cells of the game grid, kept in sync by the game, that boosters are spawned on.
+     * @param runtime The runtime that drives the boosters' lifecycle, either the session timer shared by all
+     * boosters or a virtual thread per booster.
+     * @param timer The timer of the game session, which runs the spawner and the scheduled cool downs.
      */
-    public void initialize(final List<BoosterModel> boosters) {
-        for (final BoosterModel booster : boosters) {
+    public void initialize(
+        final List<BoosterModel> boosters,
+        final FreeCellSet freeCells,
+        final BoosterRuntime runtime,
+        final HashedWheelTimer timer
+    ) {
+        this.freeCells = freeCells;
+        this.timer = timer;
+
+        // The cell index follows the size of the grid the boosters are spawned on.
+        if (activeBoosterCells.length() != freeCells.getCellCount()) {
+            activeBoosterCells = new AtomicReferenceArray<>(freeCells.getCellCount());
+        }
+
+        final AtomicReferenceArray<BoosterModel> slots = new AtomicReferenceArray<>(boosters.size());
+        final Map<BoosterModel, Integer> slotIndex = new IdentityHashMap<>(boosters.size());
+
+        for (int slot = 0; slot < boosters.size(); slot++) {
+            final BoosterModel booster = boosters.get(slot);
             booster.setReturnBoosterMethod(this::returnBooster);
-            boosterPool.add(booster);
-            this.boosters.add(booster);
+            booster.setActivatedBoosterMethod(this::indexActiveBooster);
+
+            switch (runtime) {
+                case SCHEDULED -> booster.setTimer(timer);
+                case VIRTUAL_THREAD -> booster.startVirtualThread();
+            }
+
+            slots.set(slot, booster);
+            slotIndex.put(booster, slot);
         }
 
+        idleSlots = slotIndex;
+        idleBoosters = slots;
+        idleCount.set(boosters.size());
+        this.boosters = List.copyOf(boosters);
+
         scheduleBoosterActivationWithRandomDelay();
     }
 
@@ -73,7 +111,7 @@ public enum BoosterPool {
      * the boosters get new positions periodically added while the game is running.
      */
     private void scheduleBoosterActivationWithRandomDelay() {
-        scheduledBoosterTask = scheduler.scheduleAtFixedRate(
+        scheduledBoosterTask = timer.scheduleAtFixedRate(
             periodicBoosterSpawner,
             0,
             AppConfig.BOOSTER_SPAWN_MIN_DELAY,
@@ -82,30 +120,74 @@ public enum BoosterPool {
     }
 
     /**
-     * Retrieves an available booster and activates it at the given position.
-     * Blocks if no booster is available until one is returned to the pool.
-     * The method ensures no duplicate positions.
+     * Activates an available booster on a random free cell, unless the pool is paused. This is what the
+     * periodic spawner does, but it can also be called directly, e.g. to drive the pool harder in tests.
+     * Never blocks: if no booster is idle the spawn is skipped and counted, and the next one tries again.
+     * @return {@code true} if a booster was activated.
      */
-    public void displayBooster(Point newBoosterPosition) {
-        while (true) { // Wait until boosterPool is not empty.
-            synchronized (boosterLock) {
-                if (!boosterPool.isEmpty()) { break; }
-                try { boosterLock.wait(); }
-                catch (final InterruptedException e) { Thread.currentThread().interrupt(); }
-            }
+    public boolean spawnBooster() {
+        if (isPaused) { return false; }
+
+        final BoosterModel booster = tryAcquireBooster();
+        if (booster == null) {
+            skippedSpawns.increment();
+            return false;
+        }
+
+        // Reserve a random free cell, this only fails if the snake and boosters fill the whole grid.
+        final int cell = freeCells.occupyRandom(ThreadLocalRandom.current());
+        if (cell < 0) {
+            releaseBooster(booster);
+            return false;
+        }
 
-            if (isPaused) { return; } // If we are in pause mode, do nothing.
+        booster.activate(cell);
+
+        // A pause that started after the check above may have missed the booster, so hand it back here.
+        if (isPaused) {
+            booster.consume(true);
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Tries to reserve an idle booster without blocking. The slots are probed from a random one
+     * onwards, and a booster is reserved by clearing its slot. Losing the compare-and-set to
+     * another thread counts as contention, and probing goes on with the next slot.
+     * @return the reserved booster, or {@code null} if no booster is idle.
+     */
+    private BoosterModel tryAcquireBooster() {
+        final AtomicReferenceArray<BoosterModel> slots = idleBoosters;
+        final int slotCount = slots.length();
+        if (slotCount == 0 || idleCount.get() <= 0) { return null; }
+
+        final int start = ThreadLocalRandom.current().nextInt(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            final int slot = (start + i) % slotCount;
+            final BoosterModel booster = slots.get(slot);
+            if (booster == null) { continue; }
 
-        synchronized (boosterLock) {
-            // Recheck pause after sleeping and possible wait time at the lock and check if the pool is empty
-            if (isPaused || boosterPool.isEmpty()) { return; }
-            final BoosterModel booster = boosterPool.remove(randomizer.nextInt(boosterPool.size()));
-            booster.activate(newBoosterPosition);
-            // We add the position to the list so we can double-check above if we
-            // happen to get a booster with a position that already's present.
-            boosterPositions.add(newBoosterPosition);
+            if (slots.compareAndSet(slot, booster, null)) {
+                idleCount.decrementAndGet();
+                return booster;
+            }
+            acquireContention.increment();
         }
+        return null;
+    }
+
+    /**
+     * Puts a booster back in its idle slot, where it can be reserved again. Boosters that belong
+     * to an earlier game, and therefore have no slot, are ignored.
+     * @param booster the booster to put back.
+     */
+    private void releaseBooster(final BoosterModel booster) {
+        final Integer slot = idleSlots.get(booster);
+        if (slot == null) { return; }
+
+        idleBoosters.set(slot, booster);
+        idleCount.incrementAndGet();
     }
 
     /*==============================
@@ -115,15 +197,77 @@ public enum BoosterPool {
     /**
      * Returns a booster to the pool after consumption.
      *
-     * <p>The boosters position is freed and any waiting threads are notified.</p>
+     * <p>The boosters cell is released before the booster becomes idle, so it can't be
+     * spawned again while it's still indexed on its old cell. A booster from an earlier game
+     * was on another grid, so it's ignored instead of releasing a cell of this one.</p>
      * @param booster The booster being returned.
      */
     private void returnBooster(final BoosterModel booster) {
-        synchronized (boosterLock) {
-            boosterPool.add(booster);
-            boosterPositions.remove(booster.getPosition());
-            boosterLock.notify();
+        if (!idleSlots.containsKey(booster)) { return; }
+
+        final int cell = booster.getCell();
+        if (activeBoosterCells.compareAndSet(cell, booster, null)) {
+            publishActiveBoosterSnapshot(cell);
         }
+        freeCells.release(cell);
+        releaseBooster(booster);
+    }
+
+    /**
+     * Indexes a booster by its cell once it has become active on the grid.
+     *
+     * <p>A pause can consume and return the booster between it becoming active and this call, when
+     * there is nothing to remove from the index yet. So the booster is only indexed while it's still
+     * active on its cell, and removed again if it no longer is afterwards. An entry another booster
+     * left behind that way is cleared rather than waited for.</p>
+     * @param booster The booster that became active.
+     */
+    private void indexActiveBooster(final BoosterModel booster) {
+        if (!idleSlots.containsKey(booster)) { return; }
+
+        final int cell = booster.getCell();
+        while (!activeBoosterCells.compareAndSet(cell, null, booster)) {
+            final BoosterModel indexed = activeBoosterCells.get(cell);
+            if (indexed == booster || !isActiveOn(booster, cell)) { return; }
+            if (indexed != null && !isActiveOn(indexed, cell)) {
+                activeBoosterCells.compareAndSet(cell, indexed, null);
+            }
+        }
+
+        if (!isActiveOn(booster, cell)) {
+            activeBoosterCells.compareAndSet(cell, booster, null);
+        }
+        publishActiveBoosterSnapshot(cell);
+    }
+
+    /**
+     * Checks if a booster is active on a cell.
+     * @param booster the booster to check.
+     * @param cell the row-major cell index.
+     * @return {@code true} if the booster is active and on the cell.
+     */
+    private static boolean isActiveOn(final BoosterModel booster, final int cell) {
+        return booster.isActive() && booster.getCell() == cell;
+    }
+
+    /**
+     * Publishes a new snapshot of the active boosters after the index of a cell changed.
+     *
+     * <p>The snapshot is derived from the published one, with the cell set to whatever the index
+     * holds when the snapshot is derived. Deriving always makes a new snapshot, so if another
+     * thread published in the meantime the compare-and-set fails and the cell is read again.
+     * That way the last snapshot published for a cell has read the index after its last change.</p>
+     * @param cell the row-major cell index that changed.
+     */
+    private void publishActiveBoosterSnapshot(final int cell) {
+        ActiveBoosterSnapshot current;
+        ActiveBoosterSnapshot updated;
+
+        do {
+            current = activeBoosterSnapshot.get();
+            final BoosterModel booster = activeBoosterCells.get(cell);
+            updated = booster != null ? current.with(cell, booster.getBoosterColor()) : current.without(cell);
+        } while (!activeBoosterSnapshot.compareAndSet(current, updated));
     }
 
     /*==============================
@@ -131,26 +275,25 @@ public enum BoosterPool {
     ==============================*/
 
     /**
-     * Toggles pause state. When paused, active boosters will be set to rest without
-     * applying their effects. Paused boosters will just remain where they are.
+     * Toggles pause state. When paused, active and cooling down boosters will be returned
+     * to the pool without applying their effects.
      * @param isPaused Whether the boosters should be paused.
      */
     public void setPaused(final boolean isPaused) {
         this.isPaused = isPaused;
-        boosters.stream()
-        .filter(BoosterModel::isActive)
-        .forEach(booster -> booster.consume(isPaused));
+
+        if (isPaused) {
+            // Returns both active and cooling down boosters to the pool without applying their effects.
+            boosters.forEach(booster -> booster.consume(true));
+        }
     }
 
     /**
-     * Resets the booster activation by canceling the current scheduled task (if not already completed)
-     * and rescheduling it with a new random delay. If the task is currently sleeping or waiting,
-     * it will be interrupted and canceled.
+     * Resets the booster activation by canceling the current scheduled task (if not already cancelled)
+     * and rescheduling it with a new random delay. A spawn that is running finishes, the spawner never blocks.
      */
     public void resetBoosterActivation() {
-        if (!scheduledBoosterTask.isDone()) {
-            scheduledBoosterTask.cancel(true); // Interrupt the task
-        }
+        scheduledBoosterTask.cancel();
         scheduleBoosterActivationWithRandomDelay(); // Reschedule the task
     }
 
@@ -159,36 +302,43 @@ public enum BoosterPool {
     ==============================*/
 
     /**
-     * Retrieves the positions and colors of all active boosters.
+     * Retrieves the cells and colors of all active boosters.
      *
-     * <p>It returns a map where the keys are the positions of the active boosters, and the values are
-     * the corresponding colors of the boosters.</p>
-     * @return A map where each entry contains the position of an active booster as the key and
-     * the corresponding booster color as the value.
+     * <p>The snapshot is immutable and published whenever a booster activated or returned to the
+     * pool, so calling this every frame is a single volatile read.</p>
+     * @return the latest snapshot of the active boosters.
+     */
+    public ActiveBoosterSnapshot getActiveBoosterData() {
+        return activeBoosterSnapshot.get();
+    }
+
+    /**
+     * Gets the number of spawns that were skipped because no booster was idle, since the launcher started.
+     * @return the number of skipped spawns.
      */
-    public Map<Point, Color> getActiveBoosterData() {
-        return boosters.stream()
-        .filter(BoosterModel::isActive)
-        .collect(Collectors.toMap(
-            BoosterModel::getPosition,
-            BoosterModel::getBoosterColor
-        ));
+    public long getSkippedSpawns() {
+        return skippedSpawns.sum();
     }
 
     /**
-     * Retrieves a map of all active boosters with their positions and consume methods.
+     * Gets the number of times a thread lost the race for an idle booster to another thread
+     * and had to probe on, since the launcher started.
+     * @return the number of lost compare-and-sets.
+     */
+    public long getAcquireContention() {
+        return acquireContention.sum();
+    }
+
+    /**
+     * Retrieves the active booster on a cell, if there is one.
      *
-     * <p>It returns a map where the keys are the positions of active boosters, and the values are
-     * the associated methods (consuming the boosters) represented as Consumers.</p>
-     * @return A map containing the positions of active boosters and their corresponding consume methods.
+     * <p>Boosters are indexed by cell when they become active and removed when they are returned,
+     * so this is a single array read no matter how many boosters are registered.</p>
+     * @param cell the row-major cell index to look up.
+     * @return the active booster on the cell, or {@code null} if there is none.
      */
-    public Map<Point, Consumer<Boolean>> getActiveBoosters() {
-        return boosters.stream()
-        .filter(BoosterModel::isActive)
-        .collect(Collectors.toMap(
-            BoosterModel::getPosition,
-            booster -> booster::consume
-        ));
+    public BoosterModel getActiveBoosterAt(final int cell) {
+        return activeBoosterCells.get(cell);
     }
 
     /*==============================
@@ -199,14 +349,19 @@ public enum BoosterPool {
      * Shuts down the booster pool, deactivating all boosters and clean up resources.
      */
     public void shutdown() {
-        synchronized (boosterLock) {
-            isPaused = true;
-            boosterPool.forEach(BoosterModel::shutdown);
-            boosters.forEach(BoosterModel::shutdown);
-            boosterPool.clear();
-            boosters.clear();
-            boosterPositions.clear();
+        isPaused = true;
+        if (scheduledBoosterTask != null) {
+            scheduledBoosterTask.cancel();
         }
+        boosters.forEach(BoosterModel::shutdown);
+        boosters = List.of();
+        idleSlots = Map.of();
+        idleBoosters = new AtomicReferenceArray<>(0);
+        idleCount.set(0);
+
+        for (int cell = 0; cell < activeBoosterCells.length(); cell++) {
+            activeBoosterCells.set(cell, null);
+        }
+        activeBoosterSnapshot.set(ActiveBoosterSnapshot.EMPTY);
     }
 }
-
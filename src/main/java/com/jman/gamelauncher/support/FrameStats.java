@@ -0,0 +1,102 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * Collects frame statistics for a renderer: the achieved frame rate and the mean and variance
+ * of the frame times.
+ *
+ * <p>The frame time is the time between two consecutive frames. The mean and variance are kept
+ * with Welford's online algorithm, so recording a frame is constant time and allocation free.
+ * The renderer records from its own thread while the controller reads the summary, so all
+ * methods are synchronized.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class FrameStats {
+    private final String name;
+    private long lastFrameNanos;
+    private long firstFrameNanos;
+    private long frames;
+    private double mean;
+    private double squaredDistance;
+
+    /**
+     * Constructs empty frame statistics.
+     * @param name the name of the renderer, used in the summary.
+     */
+    public FrameStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records that a frame was presented.
+     * @param nowNanos the time of the frame from {@link System#nanoTime()}.
+     */
+    public synchronized void recordFrame(final long nowNanos) {
+        if (frames > 0) {
+            final double frameMillis = (nowNanos - lastFrameNanos) / 1_000_000.0;
+            final double delta = frameMillis - mean;
+            mean += delta / frames;
+            squaredDistance += delta * (frameMillis - mean);
+        } else {
+            firstFrameNanos = nowNanos;
+        }
+
+        lastFrameNanos = nowNanos;
+        frames++;
+    }
+
+    /** Clears all recorded frames. */
+    public synchronized void reset() {
+        frames = 0;
+        mean = 0;
+        squaredDistance = 0;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the number of recorded frames.
+     * @return the frame count.
+     */
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the achieved frame rate between the first and the last frame.
+     * @return the frames per second.
+     */
+    public synchronized double getFps() {
+        if (frames < 2) { return 0; }
+        return (frames - 1) * 1_000_000_000.0 / (lastFrameNanos - firstFrameNanos);
+    }
+
+    /**
+     * Gets the mean time between frames.
+     * @return the mean frame time in milliseconds.
+     */
+    public synchronized double getMeanFrameMillis() {
+        return mean;
+    }
+
+    /**
+     * Gets the variance of the time between frames.
+     * @return the frame time variance in milliseconds squared.
+     */
+    public synchronized double getFrameVariance() {
+        return frames > 2 ? squaredDistance / (frames - 2) : 0;
+    }
+
+    /**
+     * Summarizes the statistics on one line for the debug log.
+     * @return the summary.
+     */
+    public synchronized String summary() {
+        return String.format(
+            "%s: %d frames, %.1f fps, frame time %.2f ms (variance %.3f ms², std dev %.2f ms)",
+            name, frames, getFps(), mean, getFrameVariance(), Math.sqrt(getFrameVariance())
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps track of which grid cells are free so a random free cell can be picked without locking.
+ *
+ * <p>Each cell has an occupant count, since the snake's head and a booster briefly share a cell
+ * when the booster is consumed. A cell is only free when nothing occupies it. Occupying and
+ * releasing a cell are a single atomic update of its count, and the number of free cells is
+ * kept in an atomic counter that follows every change between free and occupied.</p>
+ *
+ * <p>A random free cell is picked by rejection sampling: a uniformly random cell is claimed with a
+ * compare-and-set from free to occupied, and another one is tried if it wasn't free. That gives every
+ * free cell the same chance and lets the snake and the boosters update the set from different threads
+ * without ever waiting on each other. When the grid is so full that {@value #RANDOM_PROBES} random
+ * cells in a row were occupied, the cells are scanned from a random one instead, so a pick always
+ * ends even on a nearly full grid.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class FreeCellSet {
+    private static final int RANDOM_PROBES = 64;
+    private final AtomicIntegerArray occupants;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Constructs a set where every cell is free.
+     * @param cellCount the number of cells on the grid.
+     */
+    public FreeCellSet(final int cellCount) {
+        occupants = new AtomicIntegerArray(cellCount);
+        reset();
+    }
+
+    /*==============================
+    * Mutators
+    ==============================*/
+
+    /** Frees every cell on the grid. Must not run while other threads use the set. */
+    public void reset() {
+        for (int cell = 0; cell < occupants.length(); cell++) {
+            occupants.set(cell, 0);
+        }
+        size.set(occupants.length());
+    }
+
+    /**
+     * Adds an occupant to a cell, removing it from the free cells if it was free.
+     * @param cell the cell index.
+     */
+    public void occupy(final int cell) {
+        if (occupants.getAndIncrement(cell) == 0) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes an occupant from a cell, adding it to the free cells if it was the last one.
+     * @param cell the cell index.
+     */
+    public void release(final int cell) {
+        if (occupants.decrementAndGet(cell) == 0) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Picks a uniformly random free cell and occupies it.
+     * @param randomizer the random source to pick with.
+     * @return the occupied cell, or {@code -1} if the grid is full.
+     */
+    public int occupyRandom(final Random randomizer) {
+        final int cellCount = occupants.length();
+
+        for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+            if (size.get() == 0) { return -1; }
+
+            final int cell = randomizer.nextInt(cellCount);
+            if (tryOccupyFree(cell)) { return cell; }
+        }
+
+        // The grid is nearly full, take the next free cell after a random one.
+        final int start = randomizer.nextInt(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            final int cell = (start + i) % cellCount;
+            if (tryOccupyFree(cell)) { return cell; }
+        }
+        return -1;
+    }
+
+    /**
+     * Occupies a cell if it's free.
+     * @param cell the cell index.
+     * @return {@code true} if the cell was free and is now occupied.
+     */
+    private boolean tryOccupyFree(final int cell) {
+        if (!occupants.compareAndSet(cell, 0, 1)) { return false; }
+
+        size.decrementAndGet();
+        return true;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Checks if a cell is free.
+     * @param cell the cell index.
+     * @return {@code true} if nothing occupies the cell.
+     */
+    public boolean isFree(final int cell) {
+        return occupants.get(cell) == 0;
+    }
+
+    /**
+     * Gets the number of cells on the grid, free or not.
+     * @return the number of cells.
+     */
+    public int getCellCount() {
+        return occupants.length();
+    }
+
+    /**
+     * Gets the number of free cells.
+     * @return the number of free cells.
+     */
+    public int size() {
+        return size.get();
+    }
+}
@@ -0,0 +1,353 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A timer that runs all timed tasks of a game session on a single thread, no matter how many are pending.
+ *
+ * <p>Time is divided into ticks, and the pending timeouts are hashed by the tick they are due in
+ * into the buckets of a wheel, where each bucket is a linked list. At every tick the timer thread
+ * only visits the bucket of that tick, so the work per tick depends on the timeouts in one bucket
+ * rather than on all pending timeouts. A timeout due more than a turn of the wheel away simply
+ * stays in its bucket until the turn it's due in.</p>
+ *
+ * <p>Scheduling and cancelling never block and are O(1): a new timeout is put in a lock-free queue that
+ * the timer thread moves into the wheel at the next tick, and cancelling is a compare-and-set on
+ * the timeout's state. A cancelled timeout is unlinked the next time the timer thread visits its
+ * bucket. Pausing stops the wheel, so every pending timeout keeps the time it has left and continues
+ * from there when the timer is resumed, which is also O(1).</p>
+ *
+ * <p>Timeouts fire about a tick late, but never early. The tasks run on the timer thread, so they must
+ * be short, since a slow task delays every other timeout.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class HashedWheelTimer {
+    private final long tickNanos;
+    private final Timeout[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread timerThread;
+    private volatile boolean running = true;
+    private volatile boolean paused;
+    private long tick; // Only touched by the timer thread.
+
+    /**
+     * The states of a timeout. A periodic timeout stays pending until it's cancelled.
+     */
+    private enum TimeoutState {
+        PENDING, EXPIRED, CANCELLED
+    }
+
+    /**
+     * A handle to a task scheduled on the timer, which can be used to cancel it.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long delayNanos;
+        private final long periodNanos;
+        private final AtomicReference<TimeoutState> state = new AtomicReference<>(TimeoutState.PENDING);
+        // The deadline and the links of the bucket are only touched by the timer thread.
+        private long deadlineTick;
+        private Timeout previous;
+        private Timeout next;
+
+        /**
+         * Constructs a timeout.
+         * @param task the task to run.
+         * @param delayNanos the delay until the task runs the first time.
+         * @param periodNanos the time between runs, or 0 if the task runs only once.
+         */
+        private Timeout(final Runnable task, final long delayNanos, final long periodNanos) {
+            this.task = task;
+            this.delayNanos = delayNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Cancels the timeout so its task won't run (again). A task that is already running finishes.
+         * @return {@code true} if the timeout was cancelled by this call.
+         */
+        public boolean cancel() {
+            return state.compareAndSet(TimeoutState.PENDING, TimeoutState.CANCELLED);
+        }
+
+        /**
+         * Checks whether the timeout has run its task or was cancelled.
+         * A periodic timeout is only done once it's cancelled.
+         * @return {@code true} if the task will never run again.
+         */
+        public boolean isDone() {
+            return state.get() != TimeoutState.PENDING;
+        }
+
+        /**
+         * Checks whether the timeout was cancelled.
+         * @return {@code true} if the timeout was cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == TimeoutState.CANCELLED;
+        }
+
+        /**
+         * Checks whether the timeout runs its task more than once.
+         * @return {@code true} if the timeout is periodic.
+         */
+        private boolean isPeriodic() {
+            return periodNanos > 0;
+        }
+    }
+
+    /**
+     * Constructs a timer and starts its thread.
+     * @param name the name of the timer thread.
+     * @param tickMillis the length of a tick in milliseconds, which is the resolution of the timer.
+     * @param wheelSize the number of buckets in the wheel, a power of two.
+     * @throws IllegalArgumentException if the tick isn't positive or the wheel size isn't a power of two.
+     */
+    public HashedWheelTimer(final String name, final long tickMillis, final int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The tick must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size must be a power of two: " + wheelSize);
+        }
+
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        wheel = new Timeout[wheelSize];
+        mask = wheelSize - 1;
+        timerThread = new Thread(this::runWheel, name);
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    /*==============================
+    * Scheduling
+    ==============================*/
+
+    /**
+     * Schedules a task to run once after a delay. A timeout scheduled after the timer was shut down never runs.
+     * @param task the task to run on the timer thread.
+     * @param delay the delay until the task runs.
+     * @param unit the unit of the delay.
+     * @return the timeout, which can be used to cancel the task.
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        return enqueue(new Timeout(task, unit.toNanos(Math.max(0, delay)), 0));
+    }
+
+    /**
+     * Schedules a task to run periodically until it's cancelled. Every deadline is the previous one
+     * plus the period, so the time the task takes doesn't accumulate into drift.
+     * A timeout scheduled after the timer was shut down never runs.
+     * @param task the task to run on the timer thread.
+     * @param initialDelay the delay until the task runs the first time.
+     * @param period the time between the runs.
+     * @param unit the unit of the delay and the period.
+     * @return the timeout, which can be used to cancel the task.
+     * @throws IllegalArgumentException if the period isn't positive.
+     */
+    public Timeout scheduleAtFixedRate(
+        final Runnable task,
+        final long initialDelay,
+        final long period,
+        final TimeUnit unit
+    ) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive: " + period);
+        }
+        return enqueue(new Timeout(task, unit.toNanos(Math.max(0, initialDelay)), unit.toNanos(period)));
+    }
+
+    /**
+     * Hands a new timeout to the timer thread, or cancels it if the timer was shut down.
+     * @param timeout the new timeout.
+     * @return the timeout.
+     */
+    private Timeout enqueue(final Timeout timeout) {
+        if (running) {
+            scheduledTimeouts.add(timeout);
+        } else {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+    /*==============================
+    * Lifecycle
+    ==============================*/
+
+    /**
+     * Pauses the timer. The wheel stops turning, so no timeout fires until the timer is resumed, and
+     * every pending timeout keeps the time it had left. Timeouts can still be scheduled and cancelled.
+     */
+    public void pause() {
+        paused = true;
+        LockSupport.unpark(timerThread);
+    }
+
+    /**
+     * Resumes a paused timer. The time until the next tick is what was left when it was paused.
+     */
+    public void resume() {
+        paused = false;
+        LockSupport.unpark(timerThread);
+    }
+
+    /**
+     * Checks whether the timer is paused.
+     * @return {@code true} if the timer is paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Stops the timer thread. Pending timeouts never run, and neither do timeouts scheduled afterwards.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(timerThread);
+    }
+
+    /*==============================
+    * Timer thread
+    ==============================*/
+
+    /**
+     * Waits for each tick, moves the new timeouts into the wheel and expires the timeouts of the
+     * tick's bucket. The next tick is always the previous one plus the tick length, so the ticks
+     * don't drift. While paused, the time left until the next tick is kept.
+     */
+    private void runWheel() {
+        long nextTickNanos = System.nanoTime() + tickNanos;
+
+        while (running) {
+            if (paused) {
+                final long remaining = Math.max(0, nextTickNanos - System.nanoTime());
+                while (paused && running) {
+                    LockSupport.park(this);
+                }
+                nextTickNanos = System.nanoTime() + remaining;
+                continue;
+            }
+
+            final long wait = nextTickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue; // Check for a pause or shutdown after waking up.
+            }
+
+            transferScheduledTimeouts(nextTickNanos);
+            expireTimeouts();
+            tick++;
+            nextTickNanos += tickNanos;
+        }
+    }
+
+    /**
+     * Moves the timeouts that were scheduled since the last tick into the bucket of their deadline.
+     * The delay is counted from now, which is after the timeout was scheduled, and how late the
+     * current tick runs is added before rounding up to whole ticks. Otherwise a late tick followed
+     * by ticks that catch up would fire the timeout early.
+     * @param dueNanos when the current tick was due.
+     */
+    private void transferScheduledTimeouts(final long dueNanos) {
+        final long lateNanos = Math.max(0, System.nanoTime() - dueNanos);
+        Timeout timeout;
+
+        while ((timeout = scheduledTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) { continue; }
+
+            final long delayNanos = timeout.delayNanos == 0 ? 0 : timeout.delayNanos + lateNanos;
+            timeout.deadlineTick = tick + ticksOf(delayNanos);
+            link(timeout);
+        }
+    }
+
+    /**
+     * Runs the due timeouts in the bucket of the current tick and unlinks them, together with
+     * any cancelled ones. A periodic timeout is linked again with its next deadline.
+     */
+    private void expireTimeouts() {
+        Timeout timeout = wheel[(int) (tick & mask)];
+
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+
+            if (timeout.isCancelled()) {
+                unlink(timeout);
+            } else if (timeout.deadlineTick <= tick) {
+                unlink(timeout);
+                expire(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Runs the task of a due timeout. A periodic timeout is rescheduled from its previous deadline,
+     * but never into a tick that has already passed.
+     * @param timeout the due timeout.
+     */
+    private void expire(final Timeout timeout) {
+        if (!timeout.isPeriodic() && !timeout.state.compareAndSet(TimeoutState.PENDING, TimeoutState.EXPIRED)) {
+            return; // Cancelled in the meantime.
+        }
+
+        try {
+            timeout.task.run();
+        } catch (final RuntimeException e) {
+            DebugLogger.INSTANCE.logException(e); // A failing task must not stop the other timeouts.
+        }
+
+        if (timeout.isPeriodic() && !timeout.isCancelled()) {
+            timeout.deadlineTick = Math.max(timeout.deadlineTick + ticksOf(timeout.periodNanos), tick + 1);
+            link(timeout);
+        }
+    }
+
+    /**
+     * Links a timeout first in the bucket of its deadline. Linking it first means a periodic timeout
+     * that's rescheduled into the bucket that is being expired isn't visited again in the same tick.
+     * @param timeout the timeout to link.
+     */
+    private void link(final Timeout timeout) {
+        final int bucket = (int) (timeout.deadlineTick & mask);
+        final Timeout head = wheel[bucket];
+
+        timeout.previous = null;
+        timeout.next = head;
+        if (head != null) { head.previous = timeout; }
+        wheel[bucket] = timeout;
+    }
+
+    /**
+     * Unlinks a timeout from its bucket.
+     * @param timeout the timeout to unlink.
+     */
+    private void unlink(final Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            wheel[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) { timeout.next.previous = timeout.previous; }
+
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Converts a duration into whole ticks, rounded up.
+     * @param nanos the duration in nanoseconds.
+     * @return the number of ticks.
+     */
+    private long ticksOf(final long nanos) {
+        return (nanos + tickNanos - 1) / tickNanos;
+    }
+}
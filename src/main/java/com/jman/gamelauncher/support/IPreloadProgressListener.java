@@ -0,0 +1,17 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * Listens for the progress of the {@link AssetPreloader}.
+ *
+ * @author Joel Lansgren
+ */
+@FunctionalInterface
+public interface IPreloadProgressListener {
+    /**
+     * Invoked each time an asset has been preloaded, from the thread that decoded it.
+     * @param asset the resource path of the asset.
+     * @param loaded the number of assets preloaded so far.
+     * @param total the total number of assets to preload.
+     */
+    void onAssetLoaded(String asset, int loaded, int total);
+}
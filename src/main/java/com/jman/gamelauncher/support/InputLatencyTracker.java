@@ -0,0 +1,102 @@
+package com.jman.gamelauncher.support;
+
+/**
+ * Measures the latency from a key press to the frame that shows its effect.
+ *
+ * <p>An input passes three points on its way to the screen: the key event, the tick that consumes
+ * it, and the first frame presented after the view was updated with that tick. The tracker records
+ * the time between each of them in a {@link LatencyHistogram}, so the end-to-end latency can be
+ * split into the time spent waiting for a tick and the time spent waiting for a paint.</p>
+ *
+ * <p>Only the latest input is followed through the pipeline. If a newer input is consumed before
+ * the older one was painted, the older one is still counted for the tick stage but the frame is
+ * attributed to the newer one. The three points are reported from the tick thread, the EDT and the
+ * render thread, so all methods are synchronized.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class InputLatencyTracker {
+    private static final long NONE = -1;
+    private final LatencyHistogram keyToTick = new LatencyHistogram("Key to tick");
+    private final LatencyHistogram tickToFrame = new LatencyHistogram("Tick to frame");
+    private final LatencyHistogram keyToFrame = new LatencyHistogram("Key to frame");
+    private long consumedKeyNanos = NONE;
+    private long consumedTickNanos;
+    private long updatedKeyNanos = NONE;
+    private long updatedTickNanos;
+
+    /*==============================
+    * Pipeline Events
+    ==============================*/
+
+    /**
+     * Reports that a tick consumed an input.
+     * @param keyNanos the time of the key event.
+     * @param tickNanos the time of the tick.
+     */
+    public synchronized void onInputConsumed(final long keyNanos, final long tickNanos) {
+        keyToTick.record(tickNanos - keyNanos);
+        consumedKeyNanos = keyNanos;
+        consumedTickNanos = tickNanos;
+    }
+
+    /**
+     * Reports that the view has been updated with the latest tick, so the next presented frame shows it.
+     */
+    public synchronized void onViewUpdated() {
+        if (consumedKeyNanos == NONE) { return; }
+
+        updatedKeyNanos = consumedKeyNanos;
+        updatedTickNanos = consumedTickNanos;
+        consumedKeyNanos = NONE;
+    }
+
+    /**
+     * Reports that a frame was presented.
+     * @param frameNanos the time of the frame.
+     */
+    public synchronized void onFramePresented(final long frameNanos) {
+        if (updatedKeyNanos == NONE) { return; }
+
+        tickToFrame.record(frameNanos - updatedTickNanos);
+        keyToFrame.record(frameNanos - updatedKeyNanos);
+        updatedKeyNanos = NONE;
+    }
+
+    /** Forgets the input in flight and clears the histograms. */
+    public synchronized void reset() {
+        consumedKeyNanos = NONE;
+        updatedKeyNanos = NONE;
+        keyToTick.reset();
+        tickToFrame.reset();
+        keyToFrame.reset();
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the histogram of the time from key events to the ticks that consumed them.
+     * @return the key to tick histogram.
+     */
+    public LatencyHistogram getKeyToTick() {
+        return keyToTick;
+    }
+
+    /**
+     * Gets the histogram of the time from ticks that consumed an input to the frames showing them.
+     * @return the tick to frame histogram.
+     */
+    public LatencyHistogram getTickToFrame() {
+        return tickToFrame;
+    }
+
+    /**
+     * Gets the histogram of the end-to-end time from key events to the frames showing them.
+     * @return the key to frame histogram.
+     */
+    public LatencyHistogram getKeyToFrame() {
+        return keyToFrame;
+    }
+}
@@ -0,0 +1,148 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of latencies in nanoseconds, e.g. how late each game tick fired.
+ *
+ * <p>The buckets are log-linear: every power of two is split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, so any value from a nanosecond up to hours is recorded with a relative error of
+ * at most about 6%, using a single preallocated array. Recording is constant time and allocation
+ * free. A latency is recorded on one thread while the summary is read from another, so all
+ * methods are synchronized.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private final String name;
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Constructs an empty histogram.
+     * @param name the name of what is measured, used in the summary.
+     */
+    public LatencyHistogram(final String name) {
+        this.name = name;
+    }
+
+    /*==============================
+    * Recording
+    ==============================*/
+
+    /**
+     * Records a latency. Negative values, e.g. something that fired early, are recorded as 0.
+     * @param nanos the latency in nanoseconds.
+     */
+    public synchronized void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /** Clears all recorded latencies. */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Finds the bucket of a value. Values below {@value #SUB_BUCKETS} get a bucket each, above
+     * that the highest set bit picks the power of two and the bits below it the sub-bucket.
+     * @param value the non-negative value.
+     * @return the bucket index.
+     */
+    private static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) { return (int) value; }
+
+        final int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS) + subBucket;
+    }
+
+    /**
+     * Gets the highest value that falls in a bucket.
+     * @param bucket the bucket index.
+     * @return the upper bound of the bucket.
+     */
+    private static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) { return bucket; }
+
+        final int shift = (bucket / SUB_BUCKETS) - 1;
+        final long lowerBound = (long) (SUB_BUCKETS + (bucket % SUB_BUCKETS)) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /*==============================
+    * Getters
+    ==============================*/
+
+    /**
+     * Gets the number of recorded latencies.
+     * @return the count.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     * @return the mean in nanoseconds.
+     */
+    public synchronized double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Gets the highest recorded latency.
+     * @return the max in nanoseconds.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the latency that the given percentage of all recorded latencies are at or below.
+     * @param percentile the percentile, from 0 to 100.
+     * @return the latency in nanoseconds, accurate to the bucket it falls in.
+     */
+    public synchronized long getPercentile(final double percentile) {
+        if (count == 0) { return 0; }
+
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Summarizes the histogram on one line for the debug log.
+     * @return the summary.
+     */
+    public synchronized String summary() {
+        return String.format(
+            "%s: %d samples, mean %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms",
+            name, count, getMean() / 1_000_000.0,
+            getPercentile(50) / 1_000_000.0,
+            getPercentile(90) / 1_000_000.0,
+            getPercentile(99) / 1_000_000.0,
+            max / 1_000_000.0
+        );
+    }
+}
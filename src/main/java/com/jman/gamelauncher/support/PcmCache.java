@@ -0,0 +1,93 @@
+package com.jman.gamelauncher.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of decoded sound effects, keyed by resource name.
+ *
+ * <p>Decoding a sound effect means reading and converting the whole file, so the decoded PCM is
+ * kept for the lifetime of the launcher instead of for a single game session. The cache is bounded
+ * by the total size of the samples in bytes. When a new sound doesn't fit, the least recently
+ * used sounds are evicted until it does; an evicted sound is simply decoded again the next time
+ * it's loaded.</p>
+ *
+ * <p>Sounds are put in the cache by the loader tasks of {@link AudioManager}, which may run on
+ * several worker threads at once, while game threads read it, so all methods are synchronized.</p>
+ *
+ * @author Joel Lansgren
+ */
+public final class PcmCache {
+    private final long maxBytes;
+    private final LinkedHashMap<String, short[]> sounds = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+
+    /**
+     * Constructs an empty cache.
+     * @param maxBytes the maximum total size of the cached samples in bytes.
+     */
+    public PcmCache(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets a decoded sound and marks it as recently used.
+     * @param name the resource name of the sound.
+     * @return the samples, or {@code null} if the sound isn't cached.
+     */
+    public synchronized short[] get(final String name) {
+        return sounds.get(name);
+    }
+
+    /**
+     * Checks if a sound is cached without changing how recently it was used.
+     * @param name the resource name of the sound.
+     * @return {@code true} if the sound is cached.
+     */
+    public synchronized boolean contains(final String name) {
+        return sounds.containsKey(name);
+    }
+
+    /**
+     * Caches a decoded sound, evicting the least recently used sounds if needed.
+     * A sound larger than the whole cache isn't cached.
+     * @param name the resource name of the sound.
+     * @param samples the decoded samples.
+     */
+    public synchronized void put(final String name, final short[] samples) {
+        final long bytes = bytesOf(samples);
+        if (bytes > maxBytes) { return; }
+
+        final short[] previous = sounds.remove(name);
+        if (previous != null) {
+            sizeBytes -= bytesOf(previous);
+        }
+
+        final Iterator<Map.Entry<String, short[]>> leastRecentlyUsed = sounds.entrySet().iterator();
+        while (sizeBytes + bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            sizeBytes -= bytesOf(leastRecentlyUsed.next().getValue());
+            leastRecentlyUsed.remove();
+        }
+
+        sounds.put(name, samples);
+        sizeBytes += bytes;
+    }
+
+    /**
+     * Gets the total size of the cached samples.
+     * @return the size in bytes.
+     */
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Calculates the size of some samples.
+     * @param samples the samples.
+     * @return the size in bytes.
+     */
+    private static long bytesOf(final short[] samples) {
+        return (long) samples.length * Short.BYTES;
+    }
+}
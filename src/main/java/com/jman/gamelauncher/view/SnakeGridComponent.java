@@ -0,0 +1,310 @@
+package com.jman.gamelauncher.view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import javax.swing.JComponent;
+
+import com.jman.gamelauncher.model.SnakeTickDelta;
+import com.jman.gamelauncher.support.AppConfig;
+import com.jman.gamelauncher.support.FrameStats;
+
+/**
+ * A single component that paints the whole snake grid.
+ *
+ * <p>The color of every cell is kept in a primitive array indexed by the row-major cell index.
+ * The empty grid with its cell borders is rendered once into a cached image, which is copied into
+ * a board image whenever the grid is cleared. Changing a cell only fills that cell in the board
+ * image and repaints its rectangle, so {@link #paintComponent(Graphics)} is a single image copy
+ * of the dirty region. This replaces one {@code JPanel} per cell, so the layout, component and
+ * repaint overhead no longer grows with the number of cells.</p>
+ *
+ * <p>The grid can also be rendered actively by a {@link SnakeRenderLoop}, which paints the whole
+ * grid immediately on the EDT at every frame deadline instead of waiting for the {@code RepaintManager}
+ * to schedule dirty regions. While that is enabled the grid doesn't request repaints itself.</p>
+ *
+ * <p>The render loop runs at the display's refresh rate while the simulation keeps its own, much
+ * slower, tick. To get smooth motion anyway, every actively rendered frame interpolates between
+ * the last two simulation states: the new head grows into its cell and the removed tail shrinks
+ * out of its cell as the time since the last tick approaches the timestep. The view updates the
+ * cells and the motion while holding the grid's monitor, so a frame never sees half a tick.</p>
+ *
+ * @author Joel Lansgren
+ */
+class SnakeGridComponent extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private final int gridSize;
+    private final int cellSize;
+    private final Color emptyColor = AppConfig.COLOR_DARKER_GREY;
+    private final Color[] cellColors;
+    private final BufferedImage gridBackground;
+    private final BufferedImage board;
+    private final Graphics2D boardGraphics;
+    private final FrameStats frameStats = new FrameStats("Swing rendering");
+    private volatile boolean activeRendering;
+    private volatile LongConsumer frameListener = frameNanos -> {};
+
+    // The motion of the last tick, used to interpolate actively rendered frames.
+    private int head = SnakeTickDelta.NO_CELL;
+    private int previousHead = SnakeTickDelta.NO_CELL;
+    private int removedTail = SnakeTickDelta.NO_CELL;
+    private int tail = SnakeTickDelta.NO_CELL;
+    private Color headColor;
+    private Color tailColor;
+    private long tickNanos;
+    private long timestepNanos = 1;
+
+    /**
+     * Constructs the grid and renders its cached background.
+     * @param gridSize the number of cells on each side of the grid.
+     * @param cellSize the size of each cell in pixels.
+     */
+    SnakeGridComponent(final int gridSize, final int cellSize) {
+        this.gridSize = gridSize;
+        this.cellSize = cellSize;
+        cellColors = new Color[gridSize * gridSize];
+        gridBackground = renderGridBackground();
+        board = new BufferedImage(gridBackground.getWidth(), gridBackground.getHeight(), BufferedImage.TYPE_INT_RGB);
+        boardGraphics = board.createGraphics();
+        clearCells();
+
+        setPreferredSize(new Dimension(gridSize * cellSize, gridSize * cellSize));
+        setOpaque(true);
+        setFocusable(true);
+    }
+
+    /**
+     * Renders the empty grid, where every cell has a border, into an image.
+     * @return the background image.
+     */
+    private BufferedImage renderGridBackground() {
+        final BufferedImage image = new BufferedImage(
+            gridSize * cellSize,
+            gridSize * cellSize,
+            BufferedImage.TYPE_INT_RGB
+        );
+        final Graphics2D g = image.createGraphics();
+
+        g.setColor(AppConfig.COLOR_DARKER_GREY);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setColor(AppConfig.COLOR_DARK_GREY);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                g.drawRect(x * cellSize, y * cellSize, cellSize - 1, cellSize - 1);
+            }
+        }
+        g.dispose();
+
+        return image;
+    }
+
+    /*=============================
+    * Cell Methods
+    =============================*/
+
+    /**
+     * Sets the color of a cell. If the color changed, the cell is filled in the board image
+     * and only its rectangle is repainted.
+     * @param cell the row-major cell index.
+     * @param color the color of the cell.
+     */
+    void setCellColor(final int cell, final Color color) {
+        // Colors are compared by value, the instance is kept so the motion can reuse it.
+        if (cellColors[cell].getRGB() == color.getRGB()) { return; }
+
+        cellColors[cell] = color;
+
+        final int x = (cell % gridSize) * cellSize;
+        final int y = (cell / gridSize) * cellSize;
+
+        if (color.getRGB() == emptyColor.getRGB()) {
+            // Restore the cell with its border from the cached background.
+            boardGraphics.drawImage(
+                gridBackground,
+                x, y, x + cellSize, y + cellSize,
+                x, y, x + cellSize, y + cellSize,
+                null
+            );
+        } else {
+            boardGraphics.setColor(color);
+            boardGraphics.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        }
+
+        if (!activeRendering) {
+            repaint(x, y, cellSize, cellSize);
+        }
+    }
+
+    /**
+     * Resets every cell to the empty color and repaints the whole grid.
+     */
+    void clearCells() {
+        Arrays.fill(cellColors, emptyColor);
+        boardGraphics.drawImage(gridBackground, 0, 0, null);
+        repaint();
+    }
+
+    /*=============================
+    * Painting
+    =============================*/
+
+    /**
+     * Copies the board image, the graphics clip limits it to the dirty cells.
+     * When actively rendered, the snake is drawn interpolated to the time of the frame on top.
+     */
+    @Override
+    protected void paintComponent(final Graphics g) {
+        final long now = System.nanoTime();
+
+        synchronized (this) {
+            g.drawImage(board, 0, 0, null);
+            if (activeRendering) {
+                drawMotion((Graphics2D) g, now);
+            }
+        }
+
+        if (!activeRendering) {
+            frameStats.recordFrame(now);
+            frameListener.accept(now);
+        }
+    }
+
+    /**
+     * Actively renders one frame. Must be called on the EDT. The whole grid is painted right away
+     * through Swing, which uses its own back buffer and also repaints any overlay on top of the grid.
+     * @return {@code true} if a frame was presented, {@code false} if the grid isn't showing.
+     */
+    boolean renderFrame() {
+        if (!isShowing()) { return false; }
+
+        paintImmediately(0, 0, getWidth(), getHeight());
+        Toolkit.getDefaultToolkit().sync(); // Flush the frame to the screen right away.
+        frameListener.accept(System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Draws the head and the removed tail part way through their cells, as far as the time
+     * since the last tick has come in the timestep. Cells that something else has moved into
+     * since the tick are left as they are.
+     * @param g the graphics to draw with.
+     * @param nowNanos the time of the frame.
+     */
+    private void drawMotion(final Graphics2D g, final long nowNanos) {
+        final double progress = Math.min(1.0, Math.max(0.0, (double) (nowNanos - tickNanos) / timestepNanos));
+
+        if (head != SnakeTickDelta.NO_CELL && previousHead != SnakeTickDelta.NO_CELL) {
+            final int x = (head % gridSize) * cellSize;
+            final int y = (head / gridSize) * cellSize;
+            g.drawImage(gridBackground, x, y, x + cellSize, y + cellSize, x, y, x + cellSize, y + cellSize, null);
+            g.setColor(headColor);
+            fillPartOfCell(g, head, previousHead, progress);
+        }
+
+        if (removedTail != SnakeTickDelta.NO_CELL && tail != SnakeTickDelta.NO_CELL
+            && cellColors[removedTail].getRGB() == emptyColor.getRGB()) {
+            g.setColor(tailColor);
+            fillPartOfCell(g, removedTail, tail, 1.0 - progress);
+        }
+    }
+
+    /**
+     * Fills a part of a cell's interior, starting at the edge it shares with a neighboring cell.
+     * The grid wraps around, so the neighbor may be on the opposite side of the grid.
+     * @param g the graphics to fill with.
+     * @param cell the cell to fill.
+     * @param neighbor the neighboring cell the fill starts from.
+     * @param fraction how much of the cell to fill, from 0 to 1.
+     */
+    private void fillPartOfCell(final Graphics2D g, final int cell, final int neighbor, final double fraction) {
+        final int inner = cellSize - 2;
+        final int extent = (int) Math.round(inner * fraction);
+        if (extent == 0) { return; }
+
+        final int x = (cell % gridSize) * cellSize + 1;
+        final int y = (cell / gridSize) * cellSize + 1;
+        final int dx = Math.floorMod((cell % gridSize) - (neighbor % gridSize), gridSize);
+        final int dy = Math.floorMod((cell / gridSize) - (neighbor / gridSize), gridSize);
+
+        if (dx == 1) { // The neighbor is to the left.
+            g.fillRect(x, y, extent, inner);
+        } else if (dx == gridSize - 1) { // The neighbor is to the right.
+            g.fillRect(x + inner - extent, y, extent, inner);
+        } else if (dy == 1) { // The neighbor is above.
+            g.fillRect(x, y, inner, extent);
+        } else if (dy == gridSize - 1) { // The neighbor is below.
+            g.fillRect(x, y + inner - extent, inner, extent);
+        }
+    }
+
+    /*=============================
+    * Getters and Setters
+    =============================*/
+
+    /** Clears the motion, so frames show whole cells until the next tick. */
+    synchronized void clearMotion() {
+        head = SnakeTickDelta.NO_CELL;
+        previousHead = SnakeTickDelta.NO_CELL;
+        removedTail = SnakeTickDelta.NO_CELL;
+        tail = SnakeTickDelta.NO_CELL;
+    }
+
+    /**
+     * Sets the motion of the last tick, which actively rendered frames interpolate.
+     * @param delta the cells that changed during the tick.
+     * @param tail the cell of the snake's tail after the tick.
+     * @param tickNanos the time of the tick from {@link System#nanoTime()}.
+     * @param timestepNanos the time until the next tick.
+     */
+    synchronized void setMotion(
+        final SnakeTickDelta delta,
+        final int tail,
+        final long tickNanos,
+        final long timestepNanos
+    ) {
+        head = delta.getHead();
+        previousHead = delta.getPreviousHead();
+        removedTail = delta.getRemovedTail();
+        this.tail = tail;
+        headColor = head != SnakeTickDelta.NO_CELL ? cellColors[head] : null;
+        tailColor = tail != SnakeTickDelta.NO_CELL ? cellColors[tail] : null;
+        this.tickNanos = tickNanos;
+        this.timestepNanos = Math.max(1, timestepNanos);
+    }
+
+    /**
+     * Enables or disables active rendering. When disabled the whole grid is repainted through
+     * Swing so it's up to date.
+     * @param activeRendering whether a render loop presents the frames.
+     */
+    void setActiveRendering(final boolean activeRendering) {
+        this.activeRendering = activeRendering;
+        frameStats.reset();
+
+        if (!activeRendering) {
+            repaint();
+        }
+    }
+
+    /**
+     * Sets a listener that is told the time of every presented frame, actively rendered or painted by Swing.
+     * @param frameListener receives the time of each presented frame.
+     */
+    void setFrameListener(final LongConsumer frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    /**
+     * Gets the frame statistics of the passive Swing rendering path.
+     * @return the frame statistics.
+     */
+    FrameStats getFrameStats() {
+        return frameStats;
+    }
+}
@@ -0,0 +1,131 @@
+package com.jman.gamelauncher.view;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.SwingUtilities;
+
+import com.jman.gamelauncher.support.FrameStats;
+
+/**
+ * A dedicated render loop that actively renders the {@link SnakeGridComponent} at a fixed frame rate.
+ *
+ * <p>Instead of waiting for Swing's {@code RepaintManager} to coalesce and schedule repaints, the
+ * loop keeps the pace on its own thread and asks the EDT for a frame at an absolute deadline every
+ * period. The frame itself is painted on the EDT, like all Swing painting, so it stays in order with
+ * the cell updates and the game-over overlay is still drawn on top. At most one frame is queued at
+ * a time, if the EDT hasn't got to the last one the deadline is skipped instead of piling up frames.
+ * Every frame is recorded in a {@link FrameStats}, so the achieved frame rate and frame time
+ * variance can be compared against the passive Swing path.</p>
+ *
+ * <p>The frame rate defaults to the refresh rate of the display, so the interpolated motion of the
+ * snake is presented once per screen refresh.</p>
+ *
+ * @author Joel Lansgren
+ */
+class SnakeRenderLoop implements Runnable {
+    private static final int FALLBACK_FPS = 60;
+    private final SnakeGridComponent gameGrid;
+    private final long periodNanos;
+    private final FrameStats frameStats = new FrameStats("Active rendering");
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    private final Runnable presentFrame = this::presentFrame;
+    private volatile boolean running;
+    private Thread renderThread;
+
+    /**
+     * Constructs a render loop for a grid.
+     * @param gameGrid the grid to render.
+     * @param targetFps the frame rate to render at, or 0 to use the display's refresh rate.
+     */
+    SnakeRenderLoop(final SnakeGridComponent gameGrid, final int targetFps) {
+        this.gameGrid = gameGrid;
+        periodNanos = TimeUnit.SECONDS.toNanos(1) / (targetFps > 0 ? targetFps : displayRefreshRate());
+    }
+
+    /**
+     * Gets the refresh rate of the default screen.
+     * @return the refresh rate, or {@value #FALLBACK_FPS} if it's unknown or there is no display.
+     */
+    private static int displayRefreshRate() {
+        if (GraphicsEnvironment.isHeadless()) { return FALLBACK_FPS; }
+
+        final int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice()
+            .getDisplayMode()
+            .getRefreshRate();
+
+        return refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN ? refreshRate : FALLBACK_FPS;
+    }
+
+    /** Starts the render thread if it isn't running already. */
+    void start() {
+        if (running) { return; }
+
+        running = true;
+        frameStats.reset();
+        renderThread = new Thread(this, "SnakeRender-Loop");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /** Stops the render thread and waits for it to finish, frames it already queued are dropped. */
+    void stop() {
+        running = false;
+
+        if (renderThread != null) {
+            try {
+                renderThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            renderThread = null;
+        }
+    }
+
+    /**
+     * Queues a frame on the EDT every period until stopped. The deadlines are absolute, so time spent
+     * queuing doesn't add up to drift, and if a frame is late the loop skips ahead instead of bursting.
+     */
+    @Override
+    public void run() {
+        long deadline = System.nanoTime();
+
+        while (running) {
+            if (framePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(presentFrame);
+            }
+
+            deadline += periodNanos;
+            final long now = System.nanoTime();
+
+            if (deadline < now) {
+                deadline = now; // We're late, don't try to catch up on missed frames.
+            } else {
+                LockSupport.parkNanos(deadline - now);
+            }
+        }
+    }
+
+    /**
+     * Renders a queued frame on the EDT and records it, unless the loop was stopped in the meantime.
+     */
+    private void presentFrame() {
+        framePending.set(false);
+
+        if (running && gameGrid.renderFrame()) {
+            frameStats.recordFrame(System.nanoTime());
+        }
+    }
+
+    /**
+     * Gets the frame statistics of the render loop.
+     * @return the frame statistics.
+     */
+    FrameStats getFrameStats() {
+        return frameStats;
+    }
+}
@@ -1,18 +1,13 @@
 package com.jman.gamelauncher.view;
 
-import java.awt.BorderLayout;
-import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.awt.GridLayout;
-import java.awt.Point;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseListener;
-import java.util.List;
-import java.util.Map;
+import java.util.function.LongConsumer;
 
-import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -21,8 +16,12 @@ import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
 
 import com.jman.gamelauncher.controller.CardinalDirectionListener;
+import com.jman.gamelauncher.model.SnakeBody;
+import com.jman.gamelauncher.model.SnakeTickDelta;
+import com.jman.gamelauncher.support.ActiveBoosterSnapshot;
 import com.jman.gamelauncher.support.AppConfig;
 import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.FrameStats;
 
 /**
  * Represents the single-player view for the Snake game.
@@ -31,16 +30,18 @@ import com.jman.gamelauncher.support.AppConfigSnake;
  * and style of the grid cells.
  *
  * <p>This class primarily interacts with {@link SnakeView} for shared view components
- * and relies on a 2D array to manage the snake's appearance in the grid.</p>
+ * and relies on a {@link SnakeGridComponent} to paint the snake's appearance in the grid.</p>
  *
  * @author Joel Lansgren
  */
 public class SnakeSinglePlayerView implements IView{
     private final JPanel mainPanel = new JPanel();
     private final GridBagConstraints gbc = new GridBagConstraints();
-    private final int gridSize = AppConfigSnake.CELL_COUNT;
+    private final int gridSize;
     private final JLayeredPane layeredPane = new JLayeredPane();
-    private final JPanel gameGrid = new JPanel(new GridLayout(gridSize, gridSize));
+    private final SnakeGridComponent gameGrid;
+    private final SnakeRenderLoop renderLoop;
+    private ActiveBoosterSnapshot renderedBoosters = ActiveBoosterSnapshot.EMPTY;
     private final JPanel gameOverPanel = new JPanel() {
         /**
          * Override to set a transparent background on the GameOverPanel
@@ -64,11 +65,24 @@ public class SnakeSinglePlayerView implements IView{
      * Sets up the layout and some basic styling.
      */
     public SnakeSinglePlayerView() {
+        this(AppConfigSnake.CELL_COUNT);
+    }
+
+    /**
+     * Constructs a new single-player view with a grid of another size than the game's, e.g. for benchmarks.
+     * @param gridSize the number of cells on each side of the grid.
+     */
+    public SnakeSinglePlayerView(final int gridSize) {
+        this.gridSize = gridSize;
+        gameGrid = new SnakeGridComponent(gridSize, AppConfigSnake.CELL_SIZE);
+        renderLoop = new SnakeRenderLoop(gameGrid, AppConfigSnake.ACTIVE_RENDERING_FPS);
+        final Dimension gridDimension = gameGrid.getPreferredSize();
+
         mainPanel.setLayout(new GridBagLayout());
         mainPanel.setBackground(AppConfig.COLOR_DARKER_GREY);
 
         // Setting up the snakeGrid.
-        gameGrid.setBounds(0, 0, AppConfigSnake.GRID_SIZE.width, AppConfigSnake.GRID_SIZE.height);
+        gameGrid.setBounds(0, 0, gridDimension.width, gridDimension.height);
 
         // Setting up the gameOverPanel.
         labelStyling(gameOverLabel, AppConfig.TEXT_HEADING_2);
@@ -77,7 +91,7 @@ public class SnakeSinglePlayerView implements IView{
         buttonStyler(restartBtn, AppConfig.COLOR_WHITE);
 
         gameOverPanel.setLayout(new BoxLayout(gameOverPanel, BoxLayout.Y_AXIS));
-        gameOverPanel.setBounds(0, 0, AppConfigSnake.GRID_SIZE.width, AppConfigSnake.GRID_SIZE.height);
+        gameOverPanel.setBounds(0, 0, gridDimension.width, gridDimension.height);
         gameOverPanel.setOpaque(false);
 
         gameOverPanel.add(Box.createVerticalGlue());
@@ -89,7 +103,7 @@ public class SnakeSinglePlayerView implements IView{
         gameOverPanel.add(Box.createVerticalGlue());
 
         // Set up the layeredPane and add the panels to it.
-        layeredPane.setPreferredSize(AppConfigSnake.GRID_SIZE);
+        layeredPane.setPreferredSize(gridDimension);
         layeredPane.add(gameGrid, JLayeredPane.DEFAULT_LAYER);
         layeredPane.add(gameOverPanel, JLayeredPane.POPUP_LAYER);
 
@@ -107,57 +121,134 @@ public class SnakeSinglePlayerView implements IView{
     =============================*/
 
     /**
-     * Initializes the snakeGrid cells upon game initialization.
-     * <p>Can only happen one time or else multiple grids will be overlaid on top of each-other.</p>
+     * Just before the game starts we we request focus on the snake grid to enable
+     * key listeners for controlling the snake's movement.
      */
-    public void initializeGridCell() {
-        for (int i = 0; i < gridSize * gridSize; i++) {
-            // Creates the cell to put in the grid, gives it a border and background
-            final JPanel cell = new JPanel(new BorderLayout());
-            cell.setBorder(BorderFactory.createLineBorder(AppConfig.COLOR_DARK_GREY));
+    public void requestFocusInGameGrid() {
+        gameGrid.requestFocusInWindow();
+    }
 
-            // Add the cell to the grid
-            gameGrid.add(cell);
+    /**
+     * Updates the game grid with the current state of the snake.
+     *
+     * <p>Normally only the cells in the tick delta and the cells of boosters that appeared or
+     * disappeared are repainted, so the cost per frame is constant. A full redraw happens when the
+     * delta asks for it, e.g. on restart.</p>
+     *
+     * <p>The delta is also handed to the grid together with the tick timing, so an active render
+     * loop can interpolate the snake's movement until the next tick.</p>
+     * @param delta the cells that changed during the last tick.
+     * @param snake a read-only view of the snake's body.
+     * @param boosterData the cells and colors of the active boosters.
+     * @param tickNanos the time of the tick from {@link System#nanoTime()}.
+     * @param timestepNanos the time until the next tick.
+     */
+    public void updateGameGrid(
+        final SnakeTickDelta delta,
+        final SnakeBody snake,
+        final ActiveBoosterSnapshot boosterData,
+        final long tickNanos,
+        final long timestepNanos
+    ) {
+        synchronized (gameGrid) {
+            updateCells(delta, snake, boosterData);
+            gameGrid.setMotion(delta, snake.cellAt(0), tickNanos, timestepNanos);
         }
     }
 
     /**
-     * Just before the game starts we we request focus on the snake grid to enable
-     * key listeners for controlling the snake's movement.
+     * Clears the game grid and draws the whole snake and all boosters, e.g. when the view
+     * missed some ticks and the last delta isn't enough to bring it up to date.
+     * @param snake a read-only view of the snake's body.
+     * @param boosterData the cells and colors of the active boosters.
      */
-    public void requestFocusInGameGrid() {
-        gameGrid.requestFocusInWindow();
+    public void redrawGameGrid(final SnakeBody snake, final ActiveBoosterSnapshot boosterData) {
+        synchronized (gameGrid) {
+            redrawCells(snake, boosterData);
+            gameGrid.clearMotion();
+        }
     }
 
     /**
-     * Updates the game grid with the current state of the snake.
+     * Repaints the cells that changed during the last tick, or the whole grid if asked to.
+     * @param delta the cells that changed during the last tick.
+     * @param snake a read-only view of the snake's body.
+     * @param boosterData the cells and colors of the active boosters.
      */
-    public void updateGameGrid(final List<Point> snake, final Map<Point, Color> boosterData) {
-        clearGameGrid();
+    private void updateCells(
+        final SnakeTickDelta delta,
+        final SnakeBody snake,
+        final ActiveBoosterSnapshot boosterData
+    ) {
+        if (delta.isFullRedraw()) {
+            redrawCells(snake, boosterData);
+            return;
+        }
 
-        final Point head = snake.get(snake.size() - 1);
+        if (boosterData != renderedBoosters) {
+            // Repaint the cells of boosters that were consumed or returned, and draw the new ones.
+            for (int i = 0; i < renderedBoosters.size(); i++) {
+                repaintCell(renderedBoosters.cellAt(i), snake, boosterData);
+            }
+            for (int i = 0; i < boosterData.size(); i++) {
+                gameGrid.setCellColor(boosterData.cellAt(i), boosterData.colorAt(i));
+            }
+            renderedBoosters = boosterData;
+        }
 
-        for (final Point p : snake) {
-            gameGrid.getComponent((p.y * gridSize) + p.x).setBackground(
-                !p.equals(head) ? AppConfigSnake.COLOR_ACCENT : AppConfigSnake.COLOR_SNAKE_HEAD
+        if (delta.getRemovedTail() != SnakeTickDelta.NO_CELL) {
+            repaintCell(delta.getRemovedTail(), snake, boosterData);
+        }
+        repaintCell(delta.getPreviousHead(), snake, boosterData);
+        repaintCell(delta.getHead(), snake, boosterData);
+    }
+
+    /**
+     * Clears the game grid and draws the whole snake and all boosters.
+     * @param snake a read-only view of the snake's body.
+     * @param boosterData the cells and colors of the active boosters.
+     */
+    private void redrawCells(final SnakeBody snake, final ActiveBoosterSnapshot boosterData) {
+        gameGrid.clearCells();
+
+        final int head = snake.size() - 1;
+
+        for (int i = 0; i < snake.size(); i++) {
+            gameGrid.setCellColor(
+                snake.cellAt(i),
+                i != head ? AppConfigSnake.COLOR_ACCENT : AppConfigSnake.COLOR_SNAKE_HEAD
             );
         }
 
-        for (final Point p : boosterData.keySet()) {
-            gameGrid.getComponent((p.y * gridSize) + p.x).setBackground(boosterData.get(p));
+        for (int i = 0; i < boosterData.size(); i++) {
+            gameGrid.setCellColor(boosterData.cellAt(i), boosterData.colorAt(i));
         }
+
+        renderedBoosters = boosterData;
     }
 
     /**
-     * Clears the snakeGrid by coloring its cells to the background color.
-     * This method is executed before each update.
+     * Repaints a single cell with whatever is on it now. Boosters are drawn on top of the snake,
+     * like in a full redraw.
+     * @param cell the cell to repaint.
+     * @param snake a read-only view of the snake's body.
+     * @param boosterData the cells and colors of the active boosters.
      */
-    private void clearGameGrid() {
-        for (int y = 0; y < gridSize; y++) {
-            for (int x = 0; x < gridSize; x++) {
-                gameGrid.getComponent((y * gridSize) + x).setBackground(AppConfig.COLOR_DARKER_GREY);
+    private void repaintCell(final int cell, final SnakeBody snake, final ActiveBoosterSnapshot boosterData) {
+        for (int i = 0; i < boosterData.size(); i++) {
+            if (boosterData.cellAt(i) == cell) {
+                gameGrid.setCellColor(cell, boosterData.colorAt(i));
+                return;
             }
         }
+
+        if (cell == snake.head()) {
+            gameGrid.setCellColor(cell, AppConfigSnake.COLOR_SNAKE_HEAD);
+        } else if (snake.occupies(cell)) {
+            gameGrid.setCellColor(cell, AppConfigSnake.COLOR_ACCENT);
+        } else {
+            gameGrid.setCellColor(cell, AppConfig.COLOR_DARKER_GREY);
+        }
     }
 
     /**
@@ -179,6 +270,24 @@ public class SnakeSinglePlayerView implements IView{
         gameOverPanel.setVisible(false);
     }
 
+    /**
+     * Starts actively rendering the game grid from a dedicated render loop, which paints it on
+     * the EDT at every frame deadline instead of waiting for Swing to schedule repaints.
+     */
+    public void startRenderLoop() {
+        gameGrid.setActiveRendering(true);
+        renderLoop.start();
+    }
+
+    /**
+     * Stops the render loop and hands the game grid back to Swing,
+     * which repaints it so overlays like the game over panel are drawn on top.
+     */
+    public void stopRenderLoop() {
+        renderLoop.stop();
+        gameGrid.setActiveRendering(false);
+    }
+
     /*=============================
     * Setters
     =============================*/
@@ -202,10 +311,28 @@ public class SnakeSinglePlayerView implements IView{
         return mainPanel;
     }
 
+    /**
+     * Gets the frame statistics of the renderer currently in use.
+     * @param activeRendering whether the statistics of the active render loop are wanted.
+     * @return the frame statistics of the render loop or of Swing's repaint path.
+     */
+    public FrameStats getFrameStats(final boolean activeRendering) {
+        return activeRendering ? renderLoop.getFrameStats() : gameGrid.getFrameStats();
+    }
+
     /*=========================
     * Listeners
     =========================*/
 
+    /**
+     * Sets a listener that is told the time of every frame of the game grid that is presented,
+     * by the render loop or by Swing.
+     * @param frameListener receives the time of each presented frame.
+     */
+    public void setFrameListener(final LongConsumer frameListener) {
+        gameGrid.setFrameListener(frameListener);
+    }
+
     /**
      * Adds a key listener for snake movement control.
      * @param snakeKeyListener The key listener to be added for handling snake movement.
@@ -0,0 +1,131 @@
+package com.jman.gamelauncher.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DirectionQueueTest {
+    /** A cycle of turns where no direction repeats or reverses the one before it. */
+    private static final Direction[] TURNS = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
+
+    /**
+     * Commands come out in the order they were offered, together with the time of their key event.
+     */
+    @Test
+    public void shouldPollInOrderWithEventTimes() {
+        final DirectionQueue queue = new DirectionQueue(4);
+        queue.reset(Direction.RIGHT);
+
+        assertTrue(queue.offer(Direction.UP, 10));
+        assertTrue(queue.offer(Direction.LEFT, 20));
+
+        assertEquals(Direction.UP, queue.poll());
+        assertEquals(10, queue.getPolledEventNanos());
+        assertEquals(Direction.LEFT, queue.poll());
+        assertEquals(20, queue.getPolledEventNanos());
+        assertNull(queue.poll());
+        assertEquals(2, queue.getQueued());
+    }
+
+    /**
+     * A repeat of the last queued direction is coalesced and a reversal of it is rejected,
+     * also when the direction it's compared with is still in the queue.
+     */
+    @Test
+    public void shouldCoalesceRepeatsAndRejectReversals() {
+        final DirectionQueue queue = new DirectionQueue(4);
+        queue.reset(Direction.RIGHT);
+
+        assertFalse(queue.offer(Direction.RIGHT, 0)); // Repeats the starting direction.
+        assertFalse(queue.offer(Direction.LEFT, 0)); // Reverses the starting direction.
+        assertTrue(queue.offer(Direction.UP, 0));
+        assertFalse(queue.offer(Direction.UP, 0)); // Repeats the queued direction.
+        assertFalse(queue.offer(Direction.DOWN, 0)); // Reverses the queued direction.
+        assertTrue(queue.offer(Direction.LEFT, 0)); // Fine after UP, even though the snake still moves right.
+
+        assertEquals(2, queue.getQueued());
+        assertEquals(2, queue.getCoalesced());
+        assertEquals(2, queue.getRejected());
+        assertEquals(0, queue.getDropped());
+    }
+
+    /**
+     * Commands that don't fit are dropped until the consumer makes room.
+     */
+    @Test
+    public void shouldDropWhenFull() {
+        final DirectionQueue queue = new DirectionQueue(4);
+        queue.reset(Direction.RIGHT);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(TURNS[i], i));
+        }
+        assertFalse(queue.offer(Direction.UP, 4));
+        assertEquals(1, queue.getDropped());
+
+        assertEquals(Direction.UP, queue.poll());
+        assertTrue(queue.offer(Direction.UP, 5));
+        assertEquals(4, countQueued(queue));
+    }
+
+    /**
+     * The capacity is rounded up to a power of two, and a capacity of one holds exactly one command.
+     */
+    @Test
+    public void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(1, fill(new DirectionQueue(1)));
+        assertEquals(2, fill(new DirectionQueue(2)));
+        assertEquals(4, fill(new DirectionQueue(3)));
+        assertEquals(4, fill(new DirectionQueue(4)));
+        assertEquals(8, fill(new DirectionQueue(5)));
+    }
+
+    /**
+     * Resetting empties the queue and clears the metrics.
+     */
+    @Test
+    public void shouldEmptyQueueAndMetricsOnReset() {
+        final DirectionQueue queue = new DirectionQueue(2);
+        queue.reset(Direction.RIGHT);
+        queue.offer(Direction.UP, 0);
+        queue.offer(Direction.UP, 0);
+
+        queue.reset(Direction.DOWN);
+
+        assertNull(queue.poll());
+        assertEquals(0, queue.getQueued());
+        assertEquals(0, queue.getCoalesced());
+        assertFalse(queue.offer(Direction.UP, 0)); // Reverses the new starting direction.
+    }
+
+    /**
+     * Offers turns until one is dropped.
+     * @param queue the queue to fill.
+     * @return the number of commands the queue took.
+     */
+    private static int fill(final DirectionQueue queue) {
+        queue.reset(Direction.RIGHT);
+        int accepted = 0;
+        while (queue.offer(TURNS[accepted % TURNS.length], accepted)) {
+            accepted++;
+        }
+        assertEquals(1, queue.getDropped());
+        return accepted;
+    }
+
+    /**
+     * Polls every queued command.
+     * @param queue the queue to empty.
+     * @return the number of polled commands.
+     */
+    private static int countQueued(final DirectionQueue queue) {
+        int count = 0;
+        while (queue.poll() != null) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package com.jman.gamelauncher.model;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.FreeCellSet;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+
+/**
+ * A booster without effect or sound for tests and benchmarks, which becomes active right away and
+ * stays on the grid when the snake runs over it. That keeps the number of active boosters constant
+ * for the whole measurement, while every lookup still goes through the real {@link BoosterPool}.
+ *
+ * @author Joel Lansgren
+ */
+public final class ParkedBooster extends BoosterModel {
+    /**
+     * Constructs a parked booster.
+     */
+    public ParkedBooster() {
+        super("ParkedBooster");
+    }
+
+    /**
+     * Registers a number of parked boosters in the {@link BoosterPool} and activates them on
+     * random free cells of the model's grid. Returns once all of them are active.
+     * @param model the model whose free cells the boosters are spawned on.
+     * @param timer the session timer that runs the boosters' cool downs.
+     * @param count the number of boosters to activate.
+     * @param randomizer the source of the booster cells, seeded for repeatable runs.
+     * @throws InterruptedException if interrupted while waiting for the boosters to become active.
+     */
+    public static void spawn(
+        final SnakeModel model,
+        final HashedWheelTimer timer,
+        final int count,
+        final Random randomizer
+    ) throws InterruptedException {
+        final FreeCellSet freeCells = model.getFreeCells();
+        final List<BoosterModel> boosters = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            boosters.add(new ParkedBooster());
+        }
+        BoosterPool.INSTANCE.initialize(boosters, freeCells, BoosterRuntime.SCHEDULED, timer);
+
+        for (final BoosterModel booster : boosters) {
+            booster.activate(freeCells.occupyRandom(randomizer));
+        }
+
+        while (BoosterPool.INSTANCE.getActiveBoosterData().size() < count) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Override
+    public void consume(final boolean isPause) {
+        if (isPause) { super.consume(true); } // Only leaves the grid when the pool is paused.
+    }
+
+    @Override
+    long spawnCoolDown() {
+        return 0;
+    }
+
+    @Override
+    void loadSoundEffect() { }
+
+    @Override
+    void applyEffect() { }
+
+    @Override
+    void playSoundEffect() { }
+
+    @Override
+    public Color getBoosterColor() {
+        return AppConfigSnake.COLOR_CHERRY_BOOSTER;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jman.gamelauncher.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SnakeBodyTest {
+    private static final int GRID_SIZE = 30;
+
+    /**
+     * The ring buffer keeps its order and occupancy in sync while it wraps around.
+     */
+    @Test
+    public void shouldKeepOrderAndOccupancyWhenWrapping() {
+        final SnakeBody body = new SnakeBody(GRID_SIZE);
+        final int cellCount = GRID_SIZE * GRID_SIZE;
+
+        for (int cell = 0; cell < 5; cell++) {
+            body.addHead(cell);
+        }
+
+        // Move the snake several laps around the buffer.
+        for (int cell = 5; cell < cellCount * 3; cell++) {
+            body.addHead(cell % cellCount);
+            assertEquals((cell - 5) % cellCount, body.removeTail());
+        }
+
+        assertEquals(5, body.size());
+        for (int i = 0; i < body.size(); i++) {
+            final int expected = (cellCount * 3 - 5 + i) % cellCount;
+            assertEquals(expected, body.cellAt(i));
+            assertTrue(body.occupies(expected));
+        }
+        assertEquals(body.cellAt(4), body.head());
+        assertFalse(body.occupies((cellCount * 3 - 6) % cellCount));
+    }
+
+    /**
+     * Clearing empties the body and its occupancy, and a full body refuses a new head instead of
+     * overwriting its tail.
+     */
+    @Test
+    public void shouldClearAndRejectHeadWhenFull() {
+        final SnakeBody body = new SnakeBody(GRID_SIZE);
+        final int cellCount = GRID_SIZE * GRID_SIZE;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            body.addHead(cell);
+        }
+
+        assertTrue(body.isFull());
+        assertThrows(IllegalStateException.class, () -> body.addHead(0));
+        assertEquals(0, body.cellAt(0));
+
+        body.clear();
+        assertEquals(0, body.size());
+        assertFalse(body.isFull());
+        for (int cell = 0; cell < cellCount; cell++) {
+            assertFalse(body.occupies(cell));
+        }
+    }
+}
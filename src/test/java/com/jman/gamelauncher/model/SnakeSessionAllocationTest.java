@@ -0,0 +1,121 @@
+package com.jman.gamelauncher.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jman.gamelauncher.support.AppConfigSnake;
+import com.jman.gamelauncher.support.BoosterPool;
+import com.jman.gamelauncher.support.HashedWheelTimer;
+import com.jman.gamelauncher.view.SnakeSinglePlayerView;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Runs a headless game session for a number of ticks and checks how much each tick allocates, so an
+ * allocation that sneaks into the model's tick, the snake body or the render preparation fails the
+ * build instead of showing up as GC stutter during play.
+ */
+public class SnakeSessionAllocationTest {
+    private static final int GRID_SIZE = AppConfigSnake.CELL_COUNT;
+    private static final int BOOSTER_COUNT = 16;
+    private static final int WARMUP_TICKS = 200_000;
+    private static final int MEASURED_TICKS = 100_000;
+    private static final int TURN_INTERVAL = 7;
+    /** Allowed bytes per tick on average. A steady-state tick allocates nothing. */
+    private static final long TICK_ALLOCATION_BUDGET = 0;
+
+    private final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private HashedWheelTimer timer;
+    private SnakeModel model;
+    private SnakeEngine engine;
+    private SnakeSinglePlayerView view;
+    private long turns;
+
+    /**
+     * Sets up a session like the controller does: the engine drives the model and every tick
+     * updates the view with the tick's delta. Parked boosters are spawned on random free cells.
+     * @throws InterruptedException if interrupted while waiting for the boosters.
+     */
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        timer = new HashedWheelTimer(
+            "Test-Timer", AppConfigSnake.SESSION_TIMER_TICK_MILLIS, AppConfigSnake.SESSION_TIMER_WHEEL_SIZE
+        );
+        model = new SnakeModel(GRID_SIZE, timer);
+        engine = new SnakeEngine(model);
+        view = new SnakeSinglePlayerView(GRID_SIZE);
+        engine.setTickListener(() -> view.updateGameGrid(
+            model.getTickDelta(),
+            model.getSnake(),
+            BoosterPool.INSTANCE.getActiveBoosterData(),
+            engine.getLastTickNanos(),
+            engine.getTimestepNanos()
+        ));
+
+        engine.start();
+        ParkedBooster.spawn(model, timer, BOOSTER_COUNT, new Random(1));
+    }
+
+    /**
+     * Removes the boosters and stops the session timer.
+     */
+    @AfterEach
+    public void tearDown() {
+        BoosterPool.INSTANCE.shutdown();
+        timer.shutdown();
+    }
+
+    /**
+     * A steady-state tick, including turning the snake, moving it through the model, looking up
+     * boosters and preparing the view's grid, stays within the allocation budget.
+     */
+    @Test
+    public void shouldStayWithinAllocationBudgetPerTick() {
+        runTicks(WARMUP_TICKS); // Lets the JIT compile the tick before anything is counted.
+
+        final long collectionsBefore = collectionCount();
+        final long before = threadBean.getCurrentThreadAllocatedBytes();
+
+        runTicks(MEASURED_TICKS);
+
+        final long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+        final long collections = collectionCount() - collectionsBefore;
+
+        assertTrue(allocated / MEASURED_TICKS <= TICK_ALLOCATION_BUDGET, String.format(
+            "%.2f bytes allocated per tick over %d ticks, %d GCs",
+            (double) allocated / MEASURED_TICKS, MEASURED_TICKS, collections
+        ));
+    }
+
+    /**
+     * Runs ticks while turning the snake up and right in a staircase, which never crosses itself.
+     * @param ticks the number of ticks to run.
+     */
+    private void runTicks(final int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            if (i % TURN_INTERVAL == 0) {
+                model.setDirection(turns++ % 2 == 0 ? Direction.UP : Direction.RIGHT, System.nanoTime());
+            }
+            assertEquals(1, engine.step(1), "The snake crashed");
+        }
+    }
+
+    /**
+     * Sums the collections of all garbage collectors.
+     * @return the number of collections so far.
+     */
+    private static long collectionCount() {
+        long count = 0;
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+}
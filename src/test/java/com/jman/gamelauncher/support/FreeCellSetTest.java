@@ -0,0 +1,143 @@
+package com.jman.gamelauncher.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class FreeCellSetTest {
+    private static final int CELL_COUNT = 16;
+
+    /**
+     * Occupying and releasing cells keeps the free count in sync, no matter in which order
+     * the cells are released.
+     */
+    @Test
+    public void shouldTrackFreeCellsWhenOccupyingAndReleasing() {
+        final FreeCellSet cells = new FreeCellSet(CELL_COUNT);
+
+        cells.occupy(0);
+        cells.occupy(CELL_COUNT - 1);
+        cells.occupy(7);
+
+        assertEquals(CELL_COUNT - 3, cells.size());
+        assertFalse(cells.isFree(0));
+        assertFalse(cells.isFree(7));
+        assertFalse(cells.isFree(CELL_COUNT - 1));
+
+        cells.release(7);
+        cells.release(0);
+
+        assertEquals(CELL_COUNT - 1, cells.size());
+        assertTrue(cells.isFree(0));
+        assertTrue(cells.isFree(7));
+        assertFalse(cells.isFree(CELL_COUNT - 1));
+    }
+
+    /**
+     * A cell occupied twice, like the snake's head on a booster, stays taken until both occupants
+     * have released it.
+     */
+    @Test
+    public void shouldKeepSharedCellUntilLastOccupantReleases() {
+        final FreeCellSet cells = new FreeCellSet(CELL_COUNT);
+
+        cells.occupy(5);
+        cells.occupy(5);
+        assertEquals(CELL_COUNT - 1, cells.size());
+
+        cells.release(5);
+        assertFalse(cells.isFree(5));
+        assertEquals(CELL_COUNT - 1, cells.size());
+
+        cells.release(5);
+        assertTrue(cells.isFree(5));
+        assertEquals(CELL_COUNT, cells.size());
+    }
+
+    /**
+     * Random picks only return free cells, never the same cell twice, and report a full grid.
+     */
+    @Test
+    public void shouldOnlyPickFreeCellsUntilFull() {
+        final FreeCellSet cells = new FreeCellSet(CELL_COUNT);
+        final Random randomizer = new Random(1);
+        final Set<Integer> picked = new HashSet<>();
+
+        cells.occupy(3);
+        cells.occupy(12);
+
+        for (int i = 0; i < CELL_COUNT - 2; i++) {
+            final int cell = cells.occupyRandom(randomizer);
+            assertTrue(cell != 3 && cell != 12, "Picked an occupied cell: " + cell);
+            assertTrue(picked.add(cell), "Picked a cell twice: " + cell);
+            assertFalse(cells.isFree(cell));
+        }
+
+        assertEquals(0, cells.size());
+        assertEquals(-1, cells.occupyRandom(randomizer));
+
+        cells.release(12);
+        assertEquals(12, cells.occupyRandom(randomizer));
+    }
+
+    /**
+     * Resetting frees every cell and forgets the occupant counts.
+     */
+    @Test
+    public void shouldFreeEveryCellOnReset() {
+        final FreeCellSet cells = new FreeCellSet(CELL_COUNT);
+
+        cells.occupy(2);
+        cells.occupy(2);
+        cells.occupyRandom(new Random(1));
+        cells.reset();
+
+        assertEquals(CELL_COUNT, cells.size());
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            assertTrue(cells.isFree(cell));
+        }
+
+        cells.occupy(2);
+        cells.release(2);
+        assertTrue(cells.isFree(2));
+    }
+
+    /**
+     * Threads picking random cells at the same time never get the same cell, and together
+     * they fill the grid exactly.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    @Test
+    public void shouldNeverPickTheSameCellTwiceConcurrently() throws InterruptedException {
+        final int cellCount = 4_096;
+        final int threadCount = 4;
+        final FreeCellSet cells = new FreeCellSet(cellCount);
+        final int[] pickedBy = new int[cellCount];
+        final Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t + 1;
+            final Random randomizer = new Random(thread);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < cellCount / threadCount; i++) {
+                    pickedBy[cells.occupyRandom(randomizer)] = thread;
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, cells.size());
+        for (int cell = 0; cell < cellCount; cell++) {
+            assertTrue(pickedBy[cell] != 0, "Cell " + cell + " was never picked");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.jman.gamelauncher.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HashedWheelTimerTest {
+    private static final int TICK_MILLIS = 5;
+    private static final int WHEEL_SIZE = 8;
+    private static final long AWAIT_SECONDS = 5;
+
+    private HashedWheelTimer timer;
+
+    /**
+     * Starts a timer with a small wheel, so a turn of the wheel is only 40 ms.
+     */
+    @BeforeEach
+    public void setUp() {
+        timer = new HashedWheelTimer("Test-Timer", TICK_MILLIS, WHEEL_SIZE);
+    }
+
+    /**
+     * Stops the timer thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    /**
+     * Timeouts fire after their delay, also when the delay is several turns of the wheel.
+     * @throws InterruptedException if interrupted while waiting for the timeouts.
+     */
+    @Test
+    public void shouldNeverFireEarly() throws InterruptedException {
+        final long[] delays = {0, 1, TICK_MILLIS * 3, TICK_MILLIS * WHEEL_SIZE * 3 + 1};
+        final CountDownLatch fired = new CountDownLatch(delays.length);
+        final AtomicInteger early = new AtomicInteger();
+
+        for (final long delay : delays) {
+            final long start = System.nanoTime();
+            final HashedWheelTimer.Timeout timeout = timer.schedule(() -> {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) { early.incrementAndGet(); }
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+            assertFalse(timeout.isDone());
+        }
+
+        assertTrue(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+    }
+
+    /**
+     * A cancelled timeout never runs, while the others in the same bucket still do.
+     * @throws InterruptedException if interrupted while waiting for the timeouts.
+     */
+    @Test
+    public void shouldNotRunCancelledTimeouts() throws InterruptedException {
+        final AtomicInteger cancelledRuns = new AtomicInteger();
+        final CountDownLatch fired = new CountDownLatch(1);
+
+        final HashedWheelTimer.Timeout cancelled = timer.schedule(
+            cancelledRuns::incrementAndGet, TICK_MILLIS * 4, TimeUnit.MILLISECONDS
+        );
+        timer.schedule(fired::countDown, TICK_MILLIS * 4, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(TICK_MILLIS * 2L); // Let the tick that expired the bucket finish.
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    /**
+     * A periodic timeout runs until it's cancelled.
+     * @throws InterruptedException if interrupted while waiting for the runs.
+     */
+    @Test
+    public void shouldRunPeriodicallyUntilCancelled() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch ranThreeTimes = new CountDownLatch(3);
+
+        final HashedWheelTimer.Timeout periodic = timer.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            ranThreeTimes.countDown();
+        }, 0, TICK_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+        assertTrue(ranThreeTimes.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(periodic.isDone());
+        assertTrue(periodic.cancel());
+
+        final int runsWhenCancelled = runs.get();
+        TimeUnit.MILLISECONDS.sleep(TICK_MILLIS * 10L);
+        assertTrue(runs.get() <= runsWhenCancelled + 1, "A run in progress may finish, but no more start");
+    }
+
+    /**
+     * Nothing fires while the timer is paused, and a timeout keeps the time it had left.
+     * @throws InterruptedException if interrupted while waiting for the timeout.
+     */
+    @Test
+    public void shouldKeepRemainingTimeWhilePaused() throws InterruptedException {
+        final long delayMillis = TICK_MILLIS * 20;
+        final long pauseMillis = delayMillis * 2;
+        final AtomicLong firedNanos = new AtomicLong();
+        final CountDownLatch fired = new CountDownLatch(1);
+
+        final long start = System.nanoTime();
+        timer.schedule(() -> {
+            firedNanos.set(System.nanoTime());
+            fired.countDown();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+
+        timer.pause();
+        assertTrue(timer.isPaused());
+        assertFalse(fired.await(pauseMillis, TimeUnit.MILLISECONDS));
+        timer.resume();
+
+        assertTrue(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        // The timer may notice the pause up to a tick after it was requested.
+        final long expectedMillis = delayMillis + pauseMillis - TICK_MILLIS;
+        assertTrue(firedNanos.get() - start >= TimeUnit.MILLISECONDS.toNanos(expectedMillis));
+    }
+
+    /**
+     * Timeouts scheduled after shutdown never run.
+     */
+    @Test
+    public void shouldCancelTimeoutsAfterShutdown() {
+        timer.shutdown();
+        assertTrue(timer.schedule(() -> { }, 0, TimeUnit.MILLISECONDS).isCancelled());
+    }
+}